@@ -25,9 +25,14 @@ package io.jenkins.plugins.bitbucket.webhook;
 
 import com.fasterxml.jackson.annotation.JsonInclude.Include;
 import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
 import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.databind.util.ByteBufferBackedInputStream;
 import com.fasterxml.jackson.databind.util.StdDateFormat;
 import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
 import org.kohsuke.accmod.Restricted;
 import org.kohsuke.accmod.restrictions.NoExternalUse;
 
@@ -36,18 +41,94 @@ import org.kohsuke.accmod.restrictions.NoExternalUse;
  */
 @Restricted(NoExternalUse.class)
 public final class JsonParser {
-
-    private static final JsonMapper mapper = createMapper();
+    private static final JsonMapper MAPPER = createMapper();
+    private static final ObjectWriter WRITER = MAPPER.writer();
+    private static final ClassValue<ObjectReader> READERS = new ClassValue<>() {
+        @Override
+        protected ObjectReader computeValue(Class<?> type) {
+            return MAPPER.readerFor(type);
+        }
+    };
 
     public static <T> T toJava(String data, Class<T> type) throws IOException {
-        return mapper.readValue(data, type);
+        return readerFor(type).readValue(data);
+    }
+
+    /**
+     * Decodes the given UTF-8 encoded JSON without building an intermediate
+     * {@link String}.
+     *
+     * @param <T> the type of the returned object
+     * @param data UTF-8 encoded JSON
+     * @param type the class of the returned object
+     * @return the deserialised object
+     * @throws IOException in case of malformed content
+     */
+    public static <T> T toJava(byte[] data, Class<T> type) throws IOException {
+        return readerFor(type).readValue(data);
+    }
+
+    /**
+     * Decodes the given JSON stream. The stream is not closed.
+     *
+     * @param <T> the type of the returned object
+     * @param data JSON stream, encoding is auto-detected
+     * @param type the class of the returned object
+     * @return the deserialised object
+     * @throws IOException in case of malformed content
+     */
+    public static <T> T toJava(InputStream data, Class<T> type) throws IOException {
+        return readerFor(type).readValue(data);
+    }
+
+    /**
+     * Decodes the remaining bytes of the given buffer, the buffer position is
+     * not modified.
+     *
+     * @param <T> the type of the returned object
+     * @param data UTF-8 encoded JSON
+     * @param type the class of the returned object
+     * @return the deserialised object
+     * @throws IOException in case of malformed content
+     */
+    public static <T> T toJava(ByteBuffer data, Class<T> type) throws IOException {
+        if (data.hasArray()) {
+            return readerFor(type).readValue(data.array(), data.arrayOffset() + data.position(), data.remaining());
+        }
+        try (InputStream stream = new ByteBufferBackedInputStream(data.duplicate())) {
+            return readerFor(type).readValue(stream);
+        }
+    }
+
+    /**
+     * Returns a streaming parser over the given JSON, useful to read only some
+     * fields of a big document without bind it.
+     *
+     * @param data JSON content
+     * @return a streaming parser that must be closed by the caller
+     * @throws IOException in case of malformed content
+     */
+    public static com.fasterxml.jackson.core.JsonParser createParser(String data) throws IOException {
+        return MAPPER.createParser(data);
     }
 
     public static String toString(Object value) throws IOException {
-        return mapper.writeValueAsString(value);
+        return WRITER.writeValueAsString(value);
+    }
+
+    /**
+     * Returns the reader bound to the given type. Readers are immutable and
+     * created once per type, this avoid to resolve the root deserialiser on
+     * each call.
+     *
+     * @param type the class of the deserialised objects
+     * @return a reader for the given type.
+     */
+    private static ObjectReader readerFor(Class<?> type) {
+        return READERS.get(type);
     }
 
-    private static JsonMapper createMapper(){
+    private static JsonMapper createMapper() {
         return JsonMapper.builder()
                 .defaultDateFormat(new StdDateFormat())
                 .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false)
@@ -26,14 +26,69 @@ package io.jenkins.plugins.bitbucket.webhook.moveworkforward.processor;
 import com.cloudbees.jenkins.plugins.bitbucket.api.endpoint.BitbucketEndpoint;
 import com.cloudbees.jenkins.plugins.bitbucket.api.webhook.BitbucketWebhookProcessor;
 import com.cloudbees.jenkins.plugins.bitbucket.api.webhook.BitbucketWebhookProcessorException;
+import edu.umd.cs.findbugs.annotations.CheckForNull;
 import edu.umd.cs.findbugs.annotations.NonNull;
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
 import jakarta.servlet.http.HttpServletResponse;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumMap;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import jenkins.util.SystemProperties;
 import org.apache.commons.collections4.MultiValuedMap;
 import org.apache.commons.lang3.StringUtils;
 
 abstract class AbstractPostWebhookProcessor implements BitbucketWebhookProcessor {
+    private static final Logger logger = Logger.getLogger(AbstractPostWebhookProcessor.class.getName());
+
+    /**
+     * When enabled the repository of the incoming payload is read before bind
+     * the whole payload and events of repositories not configured in any
+     * Bitbucket source or navigator are discarded. Once Jenkins has loaded
+     * all items the check is a lookup in the {@link SourceIndex}.
+     */
+    @SuppressFBWarnings(value = "MS_SHOULD_BE_FINAL", justification = "tunable from the script console")
+    static boolean SKIP_UNTRACKED_REPOSITORIES = SystemProperties.getBoolean(AbstractPostWebhookProcessor.class.getName() + ".skipUntrackedRepositories");
+
+    /**
+     * When enabled the payload is queued in the lane of its event type and
+     * processed by the workers of the lane, the webhook request is
+     * acknowledged immediately.
+     */
+    @SuppressFBWarnings(value = "MS_SHOULD_BE_FINAL", justification = "tunable from the script console")
+    static boolean ASYNC_PROCESSING = SystemProperties.getBoolean(AbstractPostWebhookProcessor.class.getName() + ".asyncProcessing");
+    private static final boolean QUEUE_VIRTUAL_THREADS = SystemProperties.getBoolean(AbstractPostWebhookProcessor.class.getName() + ".queueVirtualThreads");
+
+    /**
+     * Lazy holder of the lanes shared by all processors.
+     */
+    private static final class LanesHolder {
+        private static final Map<WebhookLane, WebhookWorkQueue> QUEUES = new EnumMap<>(WebhookLane.class);
+
+        static {
+            for (WebhookLane lane : WebhookLane.values()) {
+                QUEUES.put(lane, new WebhookWorkQueue("Bitbucket Post Webhooks " + lane.name().toLowerCase(Locale.ENGLISH),
+                        lane.getWorkers(),
+                        lane.getCapacity(),
+                        QUEUE_VIRTUAL_THREADS));
+            }
+        }
+    }
+
+    /**
+     * Bulkheads of the Bitbucket servers, by server URL.
+     */
+    private static final Map<String, ServerBulkhead> BULKHEADS = new ConcurrentHashMap<>();
+
+    /**
+     * Recognises the redelivery of an already processed event.
+     */
+    final DeliveryDeduplicator deduplicator = new DeliveryDeduplicator();
 
     private static final String SERVER_URL_PARAMETER = "server_url";
     private static final String EVENT_TYPE_HEADER = "X-Event-Key";
@@ -73,10 +128,103 @@ abstract class AbstractPostWebhookProcessor implements BitbucketWebhookProcessor
         return eventType;
     }
 
+    /**
+     * Dispatches the webhook to {@link #processPayload}, in the request thread
+     * or through the lane of the event type when asynchronous processing is
+     * enabled. Subclasses overriding this method should call it to keep the
+     * configured dispatching.
+     */
+    @Override
+    public void process(@NonNull String eventType, @NonNull String payload, @NonNull Map<String, Object> context, @NonNull BitbucketEndpoint endpoint) {
+        if (ASYNC_PROCESSING) {
+            WebhookLane lane = getLane(eventType, payload);
+            String serverURL = StringUtils.defaultString(endpoint.getServerURL());
+            BULKHEADS.computeIfAbsent(serverURL, ServerBulkhead::new)
+                    .submit(getQueue(lane), lane, getLimits(endpoint), eventType + " hook from " + serverURL, () -> processPayload(eventType, payload, context, endpoint));
+        } else {
+            processPayload(eventType, payload, context, endpoint);
+        }
+    }
+
+    /**
+     * Process the payload of a webhook, in the request thread or in a worker
+     * thread when asynchronous processing is enabled.
+     *
+     * @param eventType the event type header
+     * @param payload the webhook payload
+     * @param context of the request
+     * @param endpoint the endpoint that has sent the webhook
+     */
+    protected abstract void processPayload(@NonNull String eventType, @NonNull String payload, @NonNull Map<String, Object> context, @NonNull BitbucketEndpoint endpoint);
+
+    /**
+     * Returns the lane where the given payload is processed.
+     *
+     * @param eventType the event type header
+     * @param payload the webhook payload
+     * @return the lane of the event type.
+     */
+    @NonNull
+    protected WebhookLane getLane(@NonNull String eventType, @NonNull String payload) {
+        PostWebhooksEventType hookEvent = PostWebhooksEventType.fromHeader(eventType);
+        return hookEvent != null ? hookEvent.getLane() : WebhookLane.PUSH;
+    }
+
+    /**
+     * Returns the queue of the given lane used when asynchronous processing
+     * is enabled.
+     *
+     * @param lane the lane
+     * @return the webhook work queue of the lane.
+     */
+    static WebhookWorkQueue getQueue(@NonNull WebhookLane lane) {
+        return LanesHolder.QUEUES.get(lane);
+    }
+
+    @CheckForNull
+    private static WebhookProcessingLimits getLimits(@NonNull BitbucketEndpoint endpoint) {
+        return endpoint.getWebhook() instanceof WebhookProcessingLimits limits ? limits : null;
+    }
+
+    /**
+     * Returns the bulkheads of the Bitbucket servers that have sent webhooks
+     * processed asynchronously.
+     *
+     * @return the bulkhead of each server.
+     */
+    @NonNull
+    static Collection<ServerBulkhead> getBulkheads() {
+        return Collections.unmodifiableCollection(BULKHEADS.values());
+    }
+
     @Override
     public void verifyPayload(Map<String, String> headers, String payload, BitbucketEndpoint endpoint) throws BitbucketWebhookProcessorException {
     }
 
+    /**
+     * Returns if the repository that has generated the given payload is of
+     * interest for any Bitbucket source or navigator. Only the repository
+     * block is read from the payload.
+     *
+     * @param payload the webhook payload
+     * @return {@code false} if the payload could be discarded.
+     */
+    protected boolean isTracked(@NonNull String payload) {
+        if (!SKIP_UNTRACKED_REPOSITORIES) {
+            return true;
+        }
+        RepositoryIdentity repository = WebhookPayload.repositoryFromPayload(payload);
+        if (repository == null) {
+            // let the payload parser report the problem
+            return true;
+        }
+        boolean tracked = TrackedRepositories.isTracked(repository);
+        if (!tracked) {
+            logger.log(Level.FINE, "Skip hook for repository {0} not configured in any Bitbucket source", repository);
+        }
+        return tracked;
+    }
+
     @NonNull
     protected String getOrigin(Map<String, Object> context) {
         return StringUtils.firstNonBlank((String) context.get("origin"), "unknow");
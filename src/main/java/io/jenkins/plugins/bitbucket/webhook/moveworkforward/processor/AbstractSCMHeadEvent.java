@@ -24,20 +24,20 @@
 package io.jenkins.plugins.bitbucket.webhook.moveworkforward.processor;
 
 import com.cloudbees.jenkins.plugins.bitbucket.BitbucketSCMNavigator;
-import com.cloudbees.jenkins.plugins.bitbucket.api.BitbucketHref;
+import com.cloudbees.jenkins.plugins.bitbucket.BitbucketSCMSource;
 import com.cloudbees.jenkins.plugins.bitbucket.api.BitbucketRepository;
 import edu.umd.cs.findbugs.annotations.NonNull;
 import hudson.scm.SCM;
-import java.net.URI;
-import java.net.URISyntaxException;
-import java.util.List;
-import java.util.Map;
+import java.util.Set;
 import jenkins.scm.api.SCMHeadEvent;
 import jenkins.scm.api.SCMNavigator;
+import jenkins.scm.api.SCMSourceOwner;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.lang3.Strings;
 
 abstract class AbstractSCMHeadEvent<P> extends SCMHeadEvent<P> {
+    private volatile Set<SCMSourceOwner> candidateOwners;
+    private volatile ServerHosts serverHosts;
 
     AbstractSCMHeadEvent(Type type, P payload, String origin) {
         super(type, payload, origin);
@@ -72,29 +72,45 @@ abstract class AbstractSCMHeadEvent<P> extends SCMHeadEvent<P> {
         return true;
     }
 
+    /**
+     * Uses the {@link SourceIndex} to tell if the given source is configured
+     * for the repository of this event. The owners of the sources indexed for
+     * the server hosts, repository owner and slug of this event are looked up
+     * once, then each source is only checked to belong to one of them.
+     * Sources not indexed with their current configuration, like a source
+     * edited but not saved yet, are always candidates and must be matched by
+     * their configuration.
+     *
+     * @param source the source to test
+     * @return {@code false} if the source is certainly not interested to
+     *         this event.
+     */
+    protected boolean isCandidate(@NonNull BitbucketSCMSource source) {
+        SourceIndex index = SourceIndex.get();
+        SCMSourceOwner owner = source.getOwner();
+        if (!index.isIndexed(owner) || !index.isIndexedAsConfigured(source)) {
+            return true;
+        }
+        Set<SCMSourceOwner> owners = candidateOwners;
+        if (owners == null) {
+            BitbucketRepository repository = getRepository();
+            owners = index.getOwners(getServerHosts()::containsHost, repository.getOwnerName(), repository.getRepositoryName());
+            candidateOwners = owners;
+        }
+        return owners.contains(owner);
+    }
+
     protected boolean isServerURLMatch(String serverURL) {
-        if (serverURL == null) {
-            return false;
-        } else {
-            Map<String, List<BitbucketHref>> links = getRepository().getLinks();
-            if (links != null && links.containsKey("self")) {
-                boolean matches = false;
-                for (BitbucketHref link: links.get("self")) {
-                    try {
-                        URI navUri = new URI(serverURL);
-                        URI evtUri = new URI(link.getHref());
-                        if (navUri.getHost().equalsIgnoreCase(evtUri.getHost())) {
-                            matches = true;
-                            break;
-                        }
-                    } catch (URISyntaxException e) {
-                        // ignore
-                    }
-                }
-                return matches;
-            }
+        return getServerHosts().matches(serverURL);
+    }
+
+    private ServerHosts getServerHosts() {
+        ServerHosts hosts = serverHosts;
+        if (hosts == null) {
+            hosts = ServerHosts.of(getRepository().getLinks());
+            serverHosts = hosts;
         }
-        return true;
+        return hosts;
     }
 
     @Override
@@ -0,0 +1,205 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2026, Nikolas Falco
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package io.jenkins.plugins.bitbucket.webhook.moveworkforward.processor;
+
+import com.cloudbees.jenkins.plugins.bitbucket.api.BitbucketPullRequest;
+import com.cloudbees.jenkins.plugins.bitbucket.api.BitbucketPullRequestEvent;
+import com.cloudbees.jenkins.plugins.bitbucket.api.BitbucketPushEvent;
+import com.cloudbees.jenkins.plugins.bitbucket.api.BitbucketPushEvent.Change;
+import com.cloudbees.jenkins.plugins.bitbucket.api.BitbucketPushEvent.Reference;
+import com.cloudbees.jenkins.plugins.bitbucket.api.BitbucketRepository;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+import edu.umd.cs.findbugs.annotations.CheckForNull;
+import edu.umd.cs.findbugs.annotations.NonNull;
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import jenkins.util.SystemProperties;
+
+/**
+ * Remembers the last delivery received in the last seconds for each
+ * reference and pull request to recognise the redelivery of the same event
+ * (retries of the Post Webhooks application or manual resend).
+ * <p>
+ * A delivery is identified by the event type, the repository and a
+ * fingerprint of the pushed references and hashes or of the pull request id
+ * and its source and target hashes. A delivery is a duplicate only when it
+ * is still the last one received for all the references or for the pull
+ * request it is about, so that a real repeat (a branch deleted and created
+ * again, a pull request declined, reopened and declined again) is always
+ * processed.
+ * <p>
+ * Disabled by default, set {@code ttlSeconds} to enable.
+ */
+final class DeliveryDeduplicator {
+    private static final Logger logger = Logger.getLogger(DeliveryDeduplicator.class.getName());
+    @SuppressFBWarnings(value = "MS_SHOULD_BE_FINAL", justification = "tunable from the script console")
+    static long TTL_SECONDS = SystemProperties.getLong(DeliveryDeduplicator.class.getName() + ".ttlSeconds", 0L);
+    private static final long MAX_SIZE = SystemProperties.getLong(DeliveryDeduplicator.class.getName() + ".maxSize", 10_000L);
+
+    /**
+     * The fingerprint of the last delivery by reference or pull request.
+     */
+    private final Cache<String, String> deliveries;
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    DeliveryDeduplicator() {
+        this(TTL_SECONDS, MAX_SIZE);
+    }
+
+    DeliveryDeduplicator(long ttlSeconds, long maxSize) {
+        this.deliveries = ttlSeconds > 0 ? CacheBuilder.newBuilder()
+                .expireAfterWrite(ttlSeconds, TimeUnit.SECONDS)
+                .maximumSize(maxSize)
+                .build() : null;
+    }
+
+    /**
+     * Records the push delivery and returns if it has been already received.
+     *
+     * @param eventType the event type header
+     * @param serverURL the Bitbucket server URL
+     * @param push the received push
+     * @return {@code true} if the same push has been received recently and
+     *         nothing else has been received since for its references.
+     */
+    public boolean isDuplicate(@NonNull String eventType, @CheckForNull String serverURL, @NonNull BitbucketPushEvent push) {
+        if (deliveries == null) {
+            return false;
+        }
+        String repository = repositoryKey(serverURL, push.getRepository());
+        List<String> subjects = new ArrayList<>(push.getChanges().size());
+        List<String> refs = new ArrayList<>(push.getChanges().size());
+        for (Change change : push.getChanges()) {
+            Reference ref = getReference(change);
+            subjects.add(repository + ref.getType() + ':' + ref.getName());
+            refs.add(describe(change));
+        }
+        // the order of changes is not relevant
+        Collections.sort(refs);
+        Hasher hasher = newHasher(eventType, repository);
+        for (String ref : refs) {
+            putField(hasher, ref);
+        }
+        return isDuplicate(subjects, hasher.hash().toString());
+    }
+
+    /**
+     * Records the pull request delivery and returns if it has been already
+     * received.
+     *
+     * @param eventType the event type header
+     * @param serverURL the Bitbucket server URL
+     * @param event the received pull request event
+     * @return {@code true} if the same pull request event has been received
+     *         recently and no other event has been received since for the
+     *         same pull request.
+     */
+    public boolean isDuplicate(@NonNull String eventType, @CheckForNull String serverURL, @NonNull BitbucketPullRequestEvent event) {
+        if (deliveries == null) {
+            return false;
+        }
+        BitbucketPullRequest pull = event.getPullRequest();
+        String repository = repositoryKey(serverURL, event.getRepository());
+        Hasher hasher = newHasher(eventType, repository);
+        putField(hasher, pull.getId());
+        putField(hasher, pull.getSource().getCommit().getHash());
+        putField(hasher, pull.getDestination().getCommit().getHash());
+        return isDuplicate(List.of(repository + "pr:" + pull.getId()), hasher.hash().toString());
+    }
+
+    private synchronized boolean isDuplicate(List<String> subjects, String fingerprint) {
+        boolean duplicate = !subjects.isEmpty();
+        for (String subject : subjects) {
+            duplicate &= fingerprint.equals(deliveries.getIfPresent(subject));
+            deliveries.put(subject, fingerprint);
+        }
+        if (duplicate) {
+            hits.incrementAndGet();
+        } else {
+            misses.incrementAndGet();
+        }
+        logger.log(Level.FINE, "Redeliveries recognised {0}, other deliveries {1} since startup", new Object[] { hits.get(), misses.get() });
+        return duplicate;
+    }
+
+    /**
+     * Returns the number of deliveries recognised as redeliveries.
+     *
+     * @return the number of duplicates since startup.
+     */
+    public long getHits() {
+        return hits.get();
+    }
+
+    /**
+     * Returns the number of deliveries checked that were not redeliveries.
+     *
+     * @return the number of first deliveries since startup.
+     */
+    public long getMisses() {
+        return misses.get();
+    }
+
+    private static String repositoryKey(String serverURL, BitbucketRepository repository) {
+        String projectKey = repository.getProject() != null ? repository.getProject().getKey() : repository.getOwnerName();
+        // the separator avoids collisions between different field splits
+        return serverURL + '\n'
+                + String.valueOf(projectKey).toLowerCase(Locale.ENGLISH) + '\n'
+                + String.valueOf(repository.getRepositoryName()).toLowerCase(Locale.ENGLISH) + '\n';
+    }
+
+    private static Hasher newHasher(String eventType, String repository) {
+        Hasher hasher = Hashing.murmur3_128().newHasher();
+        putField(hasher, eventType);
+        putField(hasher, repository);
+        return hasher;
+    }
+
+    private static void putField(Hasher hasher, Object value) {
+        // the separator avoids collisions between different field splits
+        hasher.putString(String.valueOf(value), StandardCharsets.UTF_8).putChar('\n');
+    }
+
+    private static Reference getReference(Change change) {
+        return change.isClosed() || change.getNew() == null ? change.getOld() : change.getNew();
+    }
+
+    private static String describe(Change change) {
+        Reference ref = getReference(change);
+        String hash = ref.getTarget() != null ? ref.getTarget().getHash() : null;
+        return (change.isCreated() ? "C" : change.isClosed() ? "D" : "U") + ':' + ref.getType() + ':' + ref.getName() + ':' + hash;
+    }
+}
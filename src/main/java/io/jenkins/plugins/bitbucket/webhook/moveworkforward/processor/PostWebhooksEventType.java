@@ -28,33 +28,45 @@ import edu.umd.cs.findbugs.annotations.CheckForNull;
 import edu.umd.cs.findbugs.annotations.Nullable;
 
 public enum PostWebhooksEventType {
-    TAG_CREATED(null/*"repo:push"*/),
-    BRANCH_DELETED(null/*"repo:push"*/),
-    BRANCH_CREATED(null/*"repo:push"*/),
-    REPOSITORY_MIRROR_SYNCHRONIZED(null/*"repo:push"*/),
-    ABSTRACT_REPOSITORY_REFS_CHANGED("repo:push"), // any push event
-    PULL_REQUEST_DECLINED("pullrequest:rejected"),
-    PULL_REQUEST_MERGED("pullrequest:fulfilled"),
-    PULL_REQUEST_UPDATED("pullrequest:updated"),
-    PULL_REQUEST_RESCOPED("pullrequest:rescoped"),
-    PULL_REQUEST_REOPENED(null/*"pullrequest:updated"*/),
-    PULL_REQUEST_OPENED("pullrequest:created"),
-    PULL_REQUEST_COMMENT("pullrequest:comment"),
-    PULL_REQUEST_CANCELABLE_COMMENT(null/*"pullrequest:comment"*/),
-    PULL_REQUEST_COMMENT_ACTIVITY(null/*"pullrequest:comment"*/),
-    PULL_REQUEST_DELETED("pullrequest:deleted"),
-    BUILD_STATUS_SET("build:status");
+    TAG_CREATED(null/*"repo:push"*/, WebhookLane.TAG),
+    BRANCH_DELETED(null/*"repo:push"*/, WebhookLane.PUSH),
+    BRANCH_CREATED(null/*"repo:push"*/, WebhookLane.PUSH),
+    REPOSITORY_MIRROR_SYNCHRONIZED(null/*"repo:push"*/, WebhookLane.TAG),
+    ABSTRACT_REPOSITORY_REFS_CHANGED("repo:push", WebhookLane.PUSH), // any push event
+    PULL_REQUEST_DECLINED("pullrequest:rejected", WebhookLane.PULL_REQUEST),
+    PULL_REQUEST_MERGED("pullrequest:fulfilled", WebhookLane.PULL_REQUEST),
+    PULL_REQUEST_UPDATED("pullrequest:updated", WebhookLane.PULL_REQUEST),
+    PULL_REQUEST_RESCOPED("pullrequest:rescoped", WebhookLane.PULL_REQUEST),
+    PULL_REQUEST_REOPENED(null/*"pullrequest:updated"*/, WebhookLane.PULL_REQUEST),
+    PULL_REQUEST_OPENED("pullrequest:created", WebhookLane.PULL_REQUEST),
+    PULL_REQUEST_COMMENT("pullrequest:comment", WebhookLane.PULL_REQUEST),
+    PULL_REQUEST_CANCELABLE_COMMENT(null/*"pullrequest:comment"*/, WebhookLane.PULL_REQUEST),
+    PULL_REQUEST_COMMENT_ACTIVITY(null/*"pullrequest:comment"*/, WebhookLane.PULL_REQUEST),
+    PULL_REQUEST_DELETED("pullrequest:deleted", WebhookLane.PULL_REQUEST),
+    BUILD_STATUS_SET("build:status", WebhookLane.PUSH);
 
     private final String headerName;
+    private final WebhookLane lane;
 
-    private PostWebhooksEventType(String headerName) {
+    private PostWebhooksEventType(String headerName, WebhookLane lane) {
         this.headerName = headerName;
+        this.lane = lane;
     }
 
     public String getHeaderName() {
         return headerName;
     }
 
+    /**
+     * Returns the lane where events of this type are processed when
+     * asynchronous processing is enabled.
+     *
+     * @return the lane of this event type.
+     */
+    public WebhookLane getLane() {
+        return lane;
+    }
+
     @CheckForNull
     public static PostWebhooksEventType fromHeader(@Nullable String headerValue) {
         for (PostWebhooksEventType value : PostWebhooksEventType.values()) {
@@ -24,7 +24,6 @@
 package io.jenkins.plugins.bitbucket.webhook.moveworkforward.processor;
 
 import com.cloudbees.jenkins.plugins.bitbucket.BitbucketSCMSource;
-import com.cloudbees.jenkins.plugins.bitbucket.BitbucketSCMSourceContext;
 import com.cloudbees.jenkins.plugins.bitbucket.PullRequestSCMHead;
 import com.cloudbees.jenkins.plugins.bitbucket.PullRequestSCMRevision;
 import com.cloudbees.jenkins.plugins.bitbucket.api.BitbucketPullRequest;
@@ -40,7 +39,6 @@ import java.util.Map;
 import java.util.Set;
 import jenkins.plugins.git.AbstractGitSCMSource;
 import jenkins.scm.api.SCMHead;
-import jenkins.scm.api.SCMHeadObserver;
 import jenkins.scm.api.SCMHeadOrigin;
 import jenkins.scm.api.SCMRevision;
 import jenkins.scm.api.SCMSource;
@@ -76,6 +74,9 @@ final class PostWebhooksPREvent extends AbstractSCMHeadEvent<BitbucketPullReques
             return Collections.emptyMap();
         }
         BitbucketSCMSource src = (BitbucketSCMSource) source;
+        if (!isCandidate(src)) {
+            return Collections.emptyMap();
+        }
         if (!isServerURLMatch(src.getServerUrl())) {
             return Collections.emptyMap();
         }
@@ -87,8 +88,7 @@ final class PostWebhooksPREvent extends AbstractSCMHeadEvent<BitbucketPullReques
             return Collections.emptyMap();
         }
 
-        BitbucketSCMSourceContext ctx = new BitbucketSCMSourceContext(null, SCMHeadObserver.none())
-                .withTraits(src.getTraits());
+        PullRequestSettings ctx = PullRequestSettings.of(src);
         if (!ctx.wantPRs()) {
             // doesn't want PRs, let the push event handle origin branches
             return Collections.emptyMap();
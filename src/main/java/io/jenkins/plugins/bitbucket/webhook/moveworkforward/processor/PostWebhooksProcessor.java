@@ -25,28 +25,55 @@ package io.jenkins.plugins.bitbucket.webhook.moveworkforward.processor;
 
 import com.cloudbees.jenkins.plugins.bitbucket.BitbucketSCMSource;
 import com.cloudbees.jenkins.plugins.bitbucket.api.BitbucketPushEvent;
+import com.cloudbees.jenkins.plugins.bitbucket.api.BitbucketRepository;
 import com.cloudbees.jenkins.plugins.bitbucket.api.endpoint.BitbucketEndpoint;
 import edu.umd.cs.findbugs.annotations.NonNull;
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
 import hudson.Extension;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 import jenkins.scm.api.SCMEvent;
+import jenkins.util.SystemProperties;
+import org.apache.commons.lang3.StringUtils;
 
 @Extension
 public class PostWebhooksProcessor extends AbstractPostWebhookProcessor {
 
     private static final Logger logger = Logger.getLogger(PostWebhooksProcessor.class.getName());
 
+    /**
+     * Pushes received for the same repository within this window (in
+     * milliseconds) are merged into a single event, {@code 0} to disable.
+     */
+    @SuppressFBWarnings(value = "MS_SHOULD_BE_FINAL", justification = "tunable from the script console")
+    static long COALESCING_WINDOW_MILLIS = SystemProperties.getLong(PostWebhooksProcessor.class.getName() + ".coalescingWindowMillis", 0L);
+
+    private final PushEventCoalescer coalescer;
+
+    public PostWebhooksProcessor() {
+        coalescer = new PushEventCoalescer(this::notifyPush);
+    }
+
+    PostWebhooksProcessor(@NonNull PushEventCoalescer.Scheduler scheduler) {
+        coalescer = new PushEventCoalescer(this::notifyPush, scheduler);
+    }
+
     @Override
     protected List<PostWebhooksEventType> getSupportedEvents() {
         return List.of(PostWebhooksEventType.ABSTRACT_REPOSITORY_REFS_CHANGED);
     }
 
     @Override
-    public void process(@NonNull String eventType, @NonNull String payload, @NonNull Map<String, Object> context, @NonNull BitbucketEndpoint endpoint) {
+    protected void processPayload(@NonNull String eventType, @NonNull String payload, @NonNull Map<String, Object> context, @NonNull BitbucketEndpoint endpoint) {
         logger.finer(() -> "Incoming webhook payload: " + payload);
+        if (!isTracked(payload)) {
+            return;
+        }
 
         BitbucketPushEvent push = WebhookPayload.pushEventFromPayload(payload);
         if (push != null) {
@@ -54,20 +81,66 @@ public class PostWebhooksProcessor extends AbstractPostWebhookProcessor {
                 final String owner = push.getRepository().getOwnerName();
                 final String repository = push.getRepository().getRepositoryName();
                 logger.log(Level.INFO, "Received push hook with empty changes from Bitbucket for {0}/{1}. Skipping.", new Object[]{owner, repository});
+            } else if (deduplicator.isDuplicate(eventType, endpoint.getServerURL(), push)) {
+                logger.log(Level.FINE, "Skip redelivery of push hook for {0}/{1}", new Object[] { push.getRepository().getOwnerName(), push.getRepository().getRepositoryName() });
+            } else if (getCoalescingWindowMillis() > 0) {
+                coalescer.offer(getRepositoryKey(endpoint, push.getRepository()), push, getOrigin(context), getCoalescingWindowMillis());
             } else {
-                SCMEvent.Type type = null;
-                for (BitbucketPushEvent.Change change : push.getChanges()) {
-                    if ((type == null || type == SCMEvent.Type.CREATED) && change.isCreated()) {
-                        type = SCMEvent.Type.CREATED;
-                    } else if ((type == null || type == SCMEvent.Type.REMOVED) && change.isClosed()) {
-                        type = SCMEvent.Type.REMOVED;
-                    } else {
-                        type = SCMEvent.Type.UPDATED;
-                    }
-                }
-                notifyEvent(new PostWebhooksPushEvent(type, push, getOrigin(context)), BitbucketSCMSource.getEventDelaySeconds());
+                notifyPush(push, push.getChanges(), getOrigin(context));
             }
         }
     }
 
+    /**
+     * Returns the window (in milliseconds) within which pushes of the same
+     * repository are merged.
+     *
+     * @return the coalescing window, {@code 0} if disabled.
+     */
+    long getCoalescingWindowMillis() {
+        return COALESCING_WINDOW_MILLIS;
+    }
+
+    /**
+     * All push deliveries have the same event type, pushes of tags only are
+     * recognised from the payload.
+     */
+    @NonNull
+    @Override
+    protected WebhookLane getLane(@NonNull String eventType, @NonNull String payload) {
+        return WebhookPayload.isTagPush(payload) ? WebhookLane.TAG : WebhookLane.PUSH;
+    }
+
+    /**
+     * Notifies one event for each kind of change, so that created, updated
+     * and removed references of the same push are processed by listeners
+     * with the precise type.
+     */
+    private void notifyPush(@NonNull BitbucketPushEvent push, @NonNull List<BitbucketPushEvent.Change> changes, @NonNull String origin) {
+        Map<SCMEvent.Type, List<BitbucketPushEvent.Change>> changesByType = new LinkedHashMap<>();
+        for (BitbucketPushEvent.Change change : changes) {
+            changesByType.computeIfAbsent(getType(change), k -> new ArrayList<>()).add(change);
+        }
+        for (Map.Entry<SCMEvent.Type, List<BitbucketPushEvent.Change>> entry : changesByType.entrySet()) {
+            notifyEvent(new PostWebhooksPushEvent(entry.getKey(), push, entry.getValue(), origin), BitbucketSCMSource.getEventDelaySeconds());
+        }
+    }
+
+    private static SCMEvent.Type getType(BitbucketPushEvent.Change change) {
+        if (change.isCreated()) {
+            return SCMEvent.Type.CREATED;
+        } else if (change.isClosed()) {
+            return SCMEvent.Type.REMOVED;
+        } else {
+            return SCMEvent.Type.UPDATED;
+        }
+    }
+
+    private static String getRepositoryKey(BitbucketEndpoint endpoint, BitbucketRepository repository) {
+        String projectKey = repository.getProject() != null ? repository.getProject().getKey() : repository.getOwnerName();
+        return StringUtils.defaultString(endpoint.getServerURL())
+                + '|' + StringUtils.defaultString(projectKey).toLowerCase(Locale.ENGLISH)
+                + '|' + StringUtils.defaultString(repository.getRepositoryName()).toLowerCase(Locale.ENGLISH);
+    }
+
 }
@@ -30,6 +30,7 @@ import edu.umd.cs.findbugs.annotations.NonNull;
 import hudson.Extension;
 import java.util.List;
 import java.util.Map;
+import java.util.logging.Level;
 import java.util.logging.Logger;
 import jenkins.scm.api.SCMEvent;
 
@@ -37,6 +38,8 @@ import jenkins.scm.api.SCMEvent;
 public class PostWebhooksPullRequestProcessor extends AbstractPostWebhookProcessor {
     private static final Logger logger = Logger.getLogger(PostWebhooksPullRequestProcessor.class.getName());
 
+    final PullRequestRevisions revisions = new PullRequestRevisions();
+
     @Override
     protected List<PostWebhooksEventType> getSupportedEvents() {
         return List.of(PostWebhooksEventType.PULL_REQUEST_OPENED,
@@ -48,12 +51,23 @@ public class PostWebhooksPullRequestProcessor extends AbstractPostWebhookProcess
     }
 
     @Override
-    public void process(@NonNull String hookEventType, @NonNull String payload, @NonNull Map<String, Object> context, @NonNull BitbucketEndpoint endpoint) {
+    protected void processPayload(@NonNull String hookEventType, @NonNull String payload, @NonNull Map<String, Object> context, @NonNull BitbucketEndpoint endpoint) {
         logger.finer(() -> "Incoming webhook payload: " + payload);
+        if (!isTracked(payload)) {
+            return;
+        }
 
         PostWebhooksEventType hookEvent = PostWebhooksEventType.fromHeader(hookEventType);
         BitbucketPullRequestEvent pull = WebhookPayload.pullRequestEventFromPayload(payload);
         if (pull != null && hookEvent != null) {
+            if (deduplicator.isDuplicate(hookEventType, endpoint.getServerURL(), pull)) {
+                logger.log(Level.FINE, "Skip redelivery of pull request hook {0} for {1}/{2}", new Object[] { hookEventType, pull.getRepository().getOwnerName(), pull.getRepository().getRepositoryName() });
+                return;
+            }
+            if (revisions.isUnchanged(hookEvent, endpoint.getServerURL(), pull)) {
+                logger.log(Level.FINE, "Skip pull request hook {0} for {1}/{2} #{3}, source and target revisions are unchanged", new Object[] { hookEventType, pull.getRepository().getOwnerName(), pull.getRepository().getRepositoryName(), pull.getPullRequest().getId() });
+                return;
+            }
             SCMEvent.Type eventType;
             switch (hookEvent) {
                 case PULL_REQUEST_OPENED,
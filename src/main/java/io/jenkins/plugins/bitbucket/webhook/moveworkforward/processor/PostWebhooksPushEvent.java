@@ -34,6 +34,7 @@ import edu.umd.cs.findbugs.annotations.NonNull;
 import java.util.Collections;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import jenkins.plugins.git.AbstractGitSCMSource;
 import jenkins.scm.api.SCMHead;
@@ -42,9 +43,29 @@ import jenkins.scm.api.SCMSource;
 import org.apache.commons.lang3.Strings;
 
 final class PostWebhooksPushEvent extends AbstractSCMHeadEvent<BitbucketPushEvent> {
+    private final List<BitbucketPushEvent.Change> changes;
 
     PostWebhooksPushEvent(Type type, BitbucketPushEvent payload, String origin) {
+        this(type, payload, payload.getChanges(), origin);
+    }
+
+    /**
+     * Creates an event for a subset of the changes, or a merge of changes of
+     * different pushes, of the same repository.
+     *
+     * @param type the event type
+     * @param payload the push event that owns the repository information
+     * @param changes the changes this event notifies
+     * @param origin the origin of the event
+     */
+    PostWebhooksPushEvent(Type type, BitbucketPushEvent payload, List<BitbucketPushEvent.Change> changes, String origin) {
         super(type, payload, origin);
+        this.changes = List.copyOf(changes);
+    }
+
+    @NonNull
+    public List<BitbucketPushEvent.Change> getChanges() {
+        return changes;
     }
 
     @NonNull
@@ -60,6 +81,9 @@ final class PostWebhooksPushEvent extends AbstractSCMHeadEvent<BitbucketPushEven
             return Collections.emptyMap();
         }
         BitbucketSCMSource src = (BitbucketSCMSource) source;
+        if (!isCandidate(src)) {
+            return Collections.emptyMap();
+        }
         if (!isServerURLMatch(src.getServerUrl())) {
             return Collections.emptyMap();
         }
@@ -71,7 +95,7 @@ final class PostWebhooksPushEvent extends AbstractSCMHeadEvent<BitbucketPushEven
         }
 
         Map<SCMHead, SCMRevision> result = new HashMap<>();
-        for (BitbucketPushEvent.Change change: getPayload().getChanges()) {
+        for (BitbucketPushEvent.Change change: changes) {
             if (change.isClosed()) {
                 result.put(new BranchSCMHead(change.getOld().getName()), null);
             } else {
@@ -0,0 +1,139 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2026, Nikolas Falco
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package io.jenkins.plugins.bitbucket.webhook.moveworkforward.processor;
+
+import com.cloudbees.jenkins.plugins.bitbucket.api.BitbucketPullRequest;
+import com.cloudbees.jenkins.plugins.bitbucket.api.BitbucketPullRequestEvent;
+import com.cloudbees.jenkins.plugins.bitbucket.api.BitbucketRepository;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import edu.umd.cs.findbugs.annotations.CheckForNull;
+import edu.umd.cs.findbugs.annotations.NonNull;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicLong;
+import jenkins.util.SystemProperties;
+import org.apache.commons.lang3.StringUtils;
+
+/**
+ * Remembers the last known source and target revisions, target branch and
+ * state of the pull requests to recognise update events that do not change
+ * any of them (title, description or reviewers changes), these events would
+ * not change any head revision.
+ */
+final class PullRequestRevisions {
+    private static final long MAX_SIZE = SystemProperties.getLong(PullRequestRevisions.class.getName() + ".maxSize", 10_000L);
+
+    private enum State {
+        OPEN, MERGED, DECLINED
+    }
+
+    private record Revision(String sourceHash, String targetBranch, String targetHash, State state) {
+    }
+
+    private final Cache<String, Revision> revisions;
+    private final AtomicLong skipped = new AtomicLong();
+
+    PullRequestRevisions() {
+        this(MAX_SIZE);
+    }
+
+    PullRequestRevisions(long maxSize) {
+        this.revisions = maxSize > 0 ? CacheBuilder.newBuilder()
+                .maximumSize(maxSize)
+                .build() : null;
+    }
+
+    /**
+     * Records the revisions of the pull request and returns if the event
+     * does not change them.
+     * <p>
+     * Only update events could be unchanged, any other event records the
+     * state of the pull request (so that a reopen notified as an update is
+     * never skipped) except comments that do not tell it.
+     *
+     * @param hookEvent the pull request event type
+     * @param serverURL the Bitbucket server URL
+     * @param event the received pull request event
+     * @return {@code true} if the source and target revisions, the target
+     *         branch and the state are the same of the last event of the
+     *         same pull request.
+     */
+    public boolean isUnchanged(@NonNull PostWebhooksEventType hookEvent, @CheckForNull String serverURL, @NonNull BitbucketPullRequestEvent event) {
+        if (revisions == null) {
+            return false;
+        }
+        BitbucketPullRequest pull = event.getPullRequest();
+        String key = getKey(serverURL, event.getRepository(), pull.getId());
+        switch (hookEvent) {
+            case PULL_REQUEST_DELETED:
+                revisions.invalidate(key);
+                return false;
+            case PULL_REQUEST_MERGED:
+                revisions.put(key, getRevision(pull, State.MERGED));
+                return false;
+            case PULL_REQUEST_DECLINED:
+                revisions.put(key, getRevision(pull, State.DECLINED));
+                return false;
+            case PULL_REQUEST_UPDATED,
+                 PULL_REQUEST_RESCOPED:
+                Revision revision = getRevision(pull, State.OPEN);
+                if (revision.equals(revisions.asMap().put(key, revision))) {
+                    skipped.incrementAndGet();
+                    return true;
+                }
+                return false;
+            case PULL_REQUEST_OPENED,
+                 PULL_REQUEST_REOPENED:
+                revisions.put(key, getRevision(pull, State.OPEN));
+                return false;
+            default:
+                return false;
+        }
+    }
+
+    /**
+     * Returns the number of update events recognised as unchanged.
+     *
+     * @return the number of skipped updates since startup.
+     */
+    public long getSkipped() {
+        return skipped.get();
+    }
+
+    private static Revision getRevision(BitbucketPullRequest pull, State state) {
+        return new Revision(pull.getSource().getCommit().getHash(),
+                pull.getDestination().getBranch().getName(),
+                pull.getDestination().getCommit().getHash(),
+                state);
+    }
+
+    private static String getKey(String serverURL, BitbucketRepository repository, String pullRequestId) {
+        String projectKey = repository.getProject() != null ? repository.getProject().getKey() : repository.getOwnerName();
+        return String.join("|", List.of(StringUtils.defaultString(serverURL),
+                StringUtils.defaultString(projectKey).toLowerCase(Locale.ENGLISH),
+                StringUtils.defaultString(repository.getRepositoryName()).toLowerCase(Locale.ENGLISH),
+                StringUtils.defaultString(pullRequestId)));
+    }
+}
@@ -0,0 +1,114 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2026, Nikolas Falco
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package io.jenkins.plugins.bitbucket.webhook.moveworkforward.processor;
+
+import com.cloudbees.jenkins.plugins.bitbucket.BitbucketSCMSource;
+import com.cloudbees.jenkins.plugins.bitbucket.BitbucketSCMSourceContext;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import edu.umd.cs.findbugs.annotations.NonNull;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import jenkins.scm.api.SCMHeadObserver;
+import jenkins.scm.api.mixin.ChangeRequestCheckoutStrategy;
+import jenkins.scm.api.trait.SCMSourceTrait;
+
+/**
+ * The pull request settings of a source, derived from its traits.
+ * <p>
+ * Apply all traits of a source to a new context for every pull request
+ * event is expensive when there are many sources, the settings are
+ * remembered per source until the traits of the source are replaced, as
+ * happens when the source configuration is saved.
+ */
+final class PullRequestSettings {
+    /**
+     * Weak keys so that the entry is dropped together with its source, keys
+     * are compared by identity.
+     */
+    private static final Cache<BitbucketSCMSource, PullRequestSettings> CACHE = CacheBuilder.newBuilder()
+            .weakKeys()
+            .build();
+
+    private final List<SCMSourceTrait> traits;
+    private final boolean wantPRs;
+    private final Set<ChangeRequestCheckoutStrategy> originPRStrategies;
+    private final Set<ChangeRequestCheckoutStrategy> forkPRStrategies;
+
+    private PullRequestSettings(List<SCMSourceTrait> traits, BitbucketSCMSourceContext ctx) {
+        this.traits = traits;
+        this.wantPRs = ctx.wantPRs();
+        this.originPRStrategies = Set.copyOf(ctx.originPRStrategies());
+        this.forkPRStrategies = Set.copyOf(ctx.forkPRStrategies());
+    }
+
+    /**
+     * Returns the pull request settings of the given source.
+     *
+     * @param source the source
+     * @return the settings derived from the current traits of the source.
+     */
+    @NonNull
+    static PullRequestSettings of(@NonNull BitbucketSCMSource source) {
+        List<SCMSourceTrait> traits = source.getTraits();
+        PullRequestSettings settings = CACHE.getIfPresent(source);
+        if (settings == null || !settings.isSameTraits(traits)) {
+            List<SCMSourceTrait> snapshot = new ArrayList<>(traits);
+            settings = new PullRequestSettings(snapshot, new BitbucketSCMSourceContext(null, SCMHeadObserver.none()).withTraits(snapshot));
+            CACHE.put(source, settings);
+        }
+        return settings;
+    }
+
+    /**
+     * Traits do not implement equals, a new configuration of the source
+     * always creates new trait instances.
+     */
+    private boolean isSameTraits(List<SCMSourceTrait> other) {
+        if (traits.size() != other.size()) {
+            return false;
+        }
+        for (int i = 0; i < traits.size(); i++) {
+            if (traits.get(i) != other.get(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    boolean wantPRs() {
+        return wantPRs;
+    }
+
+    @NonNull
+    Set<ChangeRequestCheckoutStrategy> originPRStrategies() {
+        return originPRStrategies;
+    }
+
+    @NonNull
+    Set<ChangeRequestCheckoutStrategy> forkPRStrategies() {
+        return forkPRStrategies;
+    }
+}
@@ -0,0 +1,206 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2026, Nikolas Falco
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package io.jenkins.plugins.bitbucket.webhook.moveworkforward.processor;
+
+import com.cloudbees.jenkins.plugins.bitbucket.api.BitbucketPushEvent;
+import com.cloudbees.jenkins.plugins.bitbucket.api.BitbucketPushEvent.Change;
+import com.cloudbees.jenkins.plugins.bitbucket.api.BitbucketPushEvent.Reference;
+import edu.umd.cs.findbugs.annotations.NonNull;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import jenkins.util.Timer;
+
+/**
+ * Merges the pushes received for the same repository within a time window
+ * into a single notification.
+ * <p>
+ * For each reference the changes are folded from the state before the
+ * first push to the state after the last one: the latest target hash is
+ * notified together with the earliest old reference, a reference created in
+ * the window is still notified as created and a deletion overrides any
+ * previous update of the same reference (a later creation turns the deletion
+ * into an update).
+ */
+final class PushEventCoalescer {
+    private static final Logger logger = Logger.getLogger(PushEventCoalescer.class.getName());
+
+    /**
+     * Receives the merged pushes.
+     */
+    interface Listener {
+        void onPush(@NonNull BitbucketPushEvent push, @NonNull List<Change> changes, @NonNull String origin);
+    }
+
+    /**
+     * Runs the notification of a batch once its window is elapsed.
+     */
+    interface Scheduler {
+        void schedule(@NonNull Runnable task, long delayMillis);
+    }
+
+    private final Listener listener;
+    private final Scheduler scheduler;
+    // guarded by this
+    private final Map<String, Batch> batches = new HashMap<>();
+
+    PushEventCoalescer(@NonNull Listener listener) {
+        this(listener, (task, delayMillis) -> Timer.get().schedule(task, delayMillis, TimeUnit.MILLISECONDS));
+    }
+
+    PushEventCoalescer(@NonNull Listener listener, @NonNull Scheduler scheduler) {
+        this.listener = listener;
+        this.scheduler = scheduler;
+    }
+
+    /**
+     * Adds the push to the pending batch of the given repository key, a new
+     * batch is created (and its notification scheduled after the given
+     * window) if none is pending.
+     *
+     * @param key identifies the repository (server, project and slug)
+     * @param push the received push
+     * @param origin the origin of the push
+     * @param windowMillis how long the batch waits for other pushes
+     */
+    void offer(@NonNull String key, @NonNull BitbucketPushEvent push, @NonNull String origin, long windowMillis) {
+        synchronized (this) {
+            Batch batch = batches.get(key);
+            if (batch != null) {
+                batch.merge(push, origin);
+                return;
+            }
+            batches.put(key, new Batch(push, origin));
+        }
+        scheduler.schedule(() -> flush(key), windowMillis);
+    }
+
+    private void flush(String key) {
+        Batch batch;
+        synchronized (this) {
+            batch = batches.remove(key);
+        }
+        if (batch != null) {
+            if (batch.merged > 1) {
+                logger.log(Level.FINE, "Coalesced {0} pushes for {1} into {2} changes", new Object[] { batch.merged, key, batch.changes.size() });
+            }
+            listener.onPush(batch.push, new ArrayList<>(batch.changes.values()), batch.origin);
+        }
+    }
+
+    /**
+     * Returns the number of repositories that have a pending batch.
+     *
+     * @return the number of pending batches.
+     */
+    synchronized int getPendingSize() {
+        return batches.size();
+    }
+
+    private static final class Batch {
+        private final Map<String, Change> changes = new LinkedHashMap<>();
+        private BitbucketPushEvent push;
+        private String origin;
+        private int merged;
+
+        Batch(BitbucketPushEvent push, String origin) {
+            merge(push, origin);
+        }
+
+        void merge(BitbucketPushEvent push, String origin) {
+            this.push = push;
+            this.origin = origin;
+            this.merged++;
+            for (Change change : push.getChanges()) {
+                String ref = refKey(change);
+                // remove first so that the iteration order follows the last change
+                Change previous = changes.remove(ref);
+                changes.put(ref, previous == null ? change : fold(previous, change));
+            }
+        }
+
+        /**
+         * Returns the change from the state before the previous change to the
+         * state after the next one.
+         */
+        private static Change fold(Change previous, Change next) {
+            if (previous.isCreated() && next.isClosed()) {
+                // the reference did not exist before the window, the removal is harmless
+                return next;
+            }
+            if (previous.isCreated()) {
+                return new FoldedChange(previous.getOld(), next.getNew(), true, false);
+            }
+            if (next.isClosed()) {
+                return new FoldedChange(previous.getOld(), null, false, true);
+            }
+            // an update, or a deletion followed by a creation
+            return new FoldedChange(previous.getOld(), next.getNew(), false, false);
+        }
+
+        private static String refKey(Change change) {
+            Reference ref = change.isClosed() || change.getNew() == null ? change.getOld() : change.getNew();
+            return ref.getType() + ':' + ref.getName();
+        }
+    }
+
+    private static final class FoldedChange implements Change {
+        private final Reference oldRef;
+        private final Reference newRef;
+        private final boolean created;
+        private final boolean closed;
+
+        FoldedChange(Reference oldRef, Reference newRef, boolean created, boolean closed) {
+            this.oldRef = oldRef;
+            this.newRef = newRef;
+            this.created = created;
+            this.closed = closed;
+        }
+
+        @Override
+        public Reference getNew() {
+            return newRef;
+        }
+
+        @Override
+        public Reference getOld() {
+            return oldRef;
+        }
+
+        @Override
+        public boolean isCreated() {
+            return created;
+        }
+
+        @Override
+        public boolean isClosed() {
+            return closed;
+        }
+    }
+}
@@ -0,0 +1,74 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2026, Nikolas Falco
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package io.jenkins.plugins.bitbucket.webhook.moveworkforward.processor;
+
+import edu.umd.cs.findbugs.annotations.CheckForNull;
+import edu.umd.cs.findbugs.annotations.NonNull;
+import java.util.List;
+
+/**
+ * The minimal information that identifies the repository that has generated
+ * a webhook, read before the whole payload is bound.
+ */
+final class RepositoryIdentity {
+    private final String projectKey;
+    private final String repositorySlug;
+    private final List<String> selfLinks;
+
+    RepositoryIdentity(@CheckForNull String projectKey, @CheckForNull String repositorySlug, @NonNull List<String> selfLinks) {
+        this.projectKey = projectKey;
+        this.repositorySlug = repositorySlug;
+        this.selfLinks = List.copyOf(selfLinks);
+    }
+
+    @CheckForNull
+    public String getProjectKey() {
+        return projectKey;
+    }
+
+    @CheckForNull
+    public String getRepositorySlug() {
+        return repositorySlug;
+    }
+
+    @NonNull
+    public List<String> getSelfLinks() {
+        return selfLinks;
+    }
+
+    /**
+     * Returns if this identity has enough information to be matched against
+     * Jenkins sources.
+     *
+     * @return {@code true} if project and repository are known.
+     */
+    public boolean isComplete() {
+        return projectKey != null && repositorySlug != null;
+    }
+
+    @Override
+    public String toString() {
+        return projectKey + "/" + repositorySlug;
+    }
+}
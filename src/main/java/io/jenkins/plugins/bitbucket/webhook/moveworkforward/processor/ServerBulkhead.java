@@ -0,0 +1,218 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2026, Nikolas Falco
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package io.jenkins.plugins.bitbucket.webhook.moveworkforward.processor;
+
+import com.cloudbees.jenkins.plugins.bitbucket.api.webhook.BitbucketWebhookProcessorException;
+import edu.umd.cs.findbugs.annotations.CheckForNull;
+import edu.umd.cs.findbugs.annotations.NonNull;
+import jakarta.servlet.http.HttpServletResponse;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import jenkins.util.Timer;
+import org.kohsuke.accmod.Restricted;
+import org.kohsuke.accmod.restrictions.NoExternalUse;
+
+/**
+ * Isolates the webhooks of a Bitbucket server from the others. In each lane
+ * at most {@link WebhookProcessingLimits#getMaxConcurrentEvents()} webhooks
+ * of the server are handed to the lane queue at the same time, the others
+ * wait in a queue of the server bounded to
+ * {@link WebhookProcessingLimits#getMaxQueuedEvents()} and are rejected when
+ * it is full.
+ * <p>
+ * The share of a server is always lower than the workers of the lane, when
+ * possible, so that a server flooding a lane never takes all its workers and
+ * the webhooks of the other servers keep being processed. A webhook is only
+ * rejected when it is received, once accepted it waits until the lane has
+ * room for it.
+ */
+@Restricted(NoExternalUse.class)
+public final class ServerBulkhead {
+    private static final Logger logger = Logger.getLogger(ServerBulkhead.class.getName());
+    private static final long RETRY_DELAY_MILLIS = 500;
+
+    private final String serverURL;
+    private final Map<WebhookLane, Compartment> compartments = new EnumMap<>(WebhookLane.class);
+    private final AtomicLong rejected = new AtomicLong();
+    private volatile long lastRejection;
+
+    ServerBulkhead(@NonNull String serverURL) {
+        this.serverURL = serverURL;
+        for (WebhookLane lane : WebhookLane.values()) {
+            compartments.put(lane, new Compartment());
+        }
+    }
+
+    /**
+     * The webhooks of the server in a lane.
+     */
+    private final class Compartment {
+        private final Deque<Runnable> pending = new ArrayDeque<>();
+        private int running;
+
+        void submit(WebhookWorkQueue queue, String description, Runnable task, int maxConcurrent, int maxQueued) {
+            Runnable job = () -> {
+                try {
+                    task.run();
+                } finally {
+                    next(queue);
+                }
+            };
+            synchronized (this) {
+                if (running >= maxConcurrent) {
+                    if (pending.size() >= maxQueued) {
+                        rejected.incrementAndGet();
+                        lastRejection = System.currentTimeMillis();
+                        throw new BitbucketWebhookProcessorException(HttpServletResponse.SC_SERVICE_UNAVAILABLE, "Too many webhooks of " + serverURL + " waiting to be processed, retry later");
+                    }
+                    pending.add(job);
+                    return;
+                }
+                running++;
+            }
+            dispatch(queue, description, job);
+        }
+
+        /**
+         * Hands the next waiting webhook to the lane queue, the slot of the
+         * completed one is kept for it and released only when nothing is
+         * waiting. When the lane queue is full the webhook is put back at the
+         * head of the queue of the server and handed again later.
+         */
+        private void next(WebhookWorkQueue queue) {
+            Runnable job;
+            synchronized (this) {
+                job = pending.poll();
+                if (job == null) {
+                    running--;
+                    return;
+                }
+            }
+            try {
+                queue.submit("queued hook from " + serverURL, job);
+            } catch (BitbucketWebhookProcessorException e) {
+                synchronized (this) {
+                    pending.addFirst(job);
+                }
+                logger.log(Level.FINE, "The lane queue is full, retry the queued hook from {0} later", serverURL);
+                Timer.get().schedule(() -> next(queue), RETRY_DELAY_MILLIS, TimeUnit.MILLISECONDS);
+            }
+        }
+
+        private void dispatch(WebhookWorkQueue queue, String description, Runnable job) {
+            try {
+                queue.submit(description, job);
+            } catch (BitbucketWebhookProcessorException e) {
+                synchronized (this) {
+                    running--;
+                }
+                throw e;
+            }
+        }
+
+        synchronized int getPending() {
+            return pending.size();
+        }
+
+        synchronized int getRunning() {
+            return running;
+        }
+    }
+
+    /**
+     * Queues the given task in the lane.
+     *
+     * @param queue the queue of the lane
+     * @param lane the lane of the task
+     * @param limits of the server, default limits if {@code null}
+     * @param description of the task
+     * @param task to run
+     * @throws BitbucketWebhookProcessorException with status
+     *         {@link HttpServletResponse#SC_SERVICE_UNAVAILABLE} if too many
+     *         webhooks of the server are waiting.
+     */
+    void submit(@NonNull WebhookWorkQueue queue, @NonNull WebhookLane lane, @CheckForNull WebhookProcessingLimits limits, @NonNull String description, @NonNull Runnable task) {
+        int maxConcurrent = limits != null ? limits.getMaxConcurrentEvents() : WebhookProcessingLimits.DEFAULT_MAX_CONCURRENT_EVENTS;
+        int maxQueued = limits != null ? limits.getMaxQueuedEvents() : WebhookProcessingLimits.DEFAULT_MAX_QUEUED_EVENTS;
+        compartments.get(lane).submit(queue, description, task, getShare(queue, maxConcurrent), Math.max(0, maxQueued));
+    }
+
+    /**
+     * Returns how many webhooks of the server could be handed to the lane at
+     * the same time, leaving at least a worker to the other servers.
+     */
+    private static int getShare(WebhookWorkQueue queue, int maxConcurrent) {
+        return Math.max(1, Math.min(maxConcurrent, queue.getWorkers() - 1));
+    }
+
+    @NonNull
+    public String getServerURL() {
+        return serverURL;
+    }
+
+    /**
+     * Returns the number of webhooks of the server waiting in the given lane.
+     *
+     * @param lane the lane
+     * @return the number of waiting webhooks.
+     */
+    public int getPending(@NonNull WebhookLane lane) {
+        return compartments.get(lane).getPending();
+    }
+
+    /**
+     * Returns the number of webhooks of the server processed or handed to
+     * the given lane.
+     *
+     * @param lane the lane
+     * @return the number of running webhooks.
+     */
+    public int getRunning(@NonNull WebhookLane lane) {
+        return compartments.get(lane).getRunning();
+    }
+
+    /**
+     * Returns the number of webhooks of the server rejected since startup.
+     *
+     * @return the number of rejected webhooks.
+     */
+    public long getRejected() {
+        return rejected.get();
+    }
+
+    /**
+     * Returns when the last webhook of the server has been rejected.
+     *
+     * @return the time in milliseconds, {@code 0} if never.
+     */
+    public long getLastRejection() {
+        return lastRejection;
+    }
+}
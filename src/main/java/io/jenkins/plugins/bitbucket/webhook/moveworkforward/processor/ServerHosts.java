@@ -0,0 +1,164 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2026, Nikolas Falco
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package io.jenkins.plugins.bitbucket.webhook.moveworkforward.processor;
+
+import com.cloudbees.jenkins.plugins.bitbucket.api.BitbucketHref;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import edu.umd.cs.findbugs.annotations.CheckForNull;
+import edu.umd.cs.findbugs.annotations.NonNull;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import jenkins.util.SystemProperties;
+
+/**
+ * The servers that have generated an event, as normalised host names
+ * computed once from the self links of the event repository.
+ * <p>
+ * Only the host is compared, case insensitive. The port is ignored because
+ * the server URL configured in Jenkins could go through a reverse proxy that
+ * listen on a different port than the one Bitbucket uses in its links.
+ */
+final class ServerHosts {
+    private static final long CACHE_SIZE = SystemProperties.getLong(ServerHosts.class.getName() + ".cacheSize", 1_000L);
+    private static final String INVALID = "";
+    private static final ServerHosts ANY = new ServerHosts(null);
+
+    /**
+     * Normalised host of the server URL configured in sources and navigators.
+     * There are few distinct values but they are checked for every source
+     * against each event.
+     */
+    private static final Cache<String, String> SERVER_HOSTS = CacheBuilder.newBuilder()
+            .maximumSize(CACHE_SIZE)
+            .build();
+
+    @CheckForNull
+    private final Set<String> hosts;
+
+    private ServerHosts(@CheckForNull Set<String> hosts) {
+        this.hosts = hosts;
+    }
+
+    /**
+     * Collects the servers from the links of a repository.
+     *
+     * @param links the repository links
+     * @return the servers of the repository links, if there is no self link
+     *         any server matches.
+     */
+    @NonNull
+    static ServerHosts of(@CheckForNull Map<String, List<BitbucketHref>> links) {
+        if (links == null || !links.containsKey("self")) {
+            return ANY;
+        }
+        Set<String> hosts = new HashSet<>();
+        List<BitbucketHref> selfLinks = links.get("self");
+        if (selfLinks != null) {
+            for (BitbucketHref link : selfLinks) {
+                String host = normalize(link.getHref());
+                if (!host.isEmpty()) {
+                    hosts.add(host);
+                }
+            }
+        }
+        return new ServerHosts(Set.copyOf(hosts));
+    }
+
+    /**
+     * Returns if the given server URL points to one of these servers.
+     *
+     * @param serverURL the server URL of a source or navigator
+     * @return {@code true} if the server URL matches.
+     */
+    boolean matches(@CheckForNull String serverURL) {
+        if (serverURL == null) {
+            return false;
+        }
+        if (hosts == null) {
+            return true;
+        }
+        if (hosts.isEmpty()) {
+            return false;
+        }
+        String host = hostOf(serverURL);
+        return !host.isEmpty() && hosts.contains(host);
+    }
+
+    /**
+     * Returns if the given normalised host is one of these servers.
+     *
+     * @param host a normalised host, see {@link #hostOf(String)}
+     * @return {@code true} if the host matches.
+     */
+    boolean containsHost(@NonNull String host) {
+        if (hosts == null) {
+            return true;
+        }
+        return !host.isEmpty() && hosts.contains(host);
+    }
+
+    /**
+     * Returns the normalised host of a server URL configured in a source or
+     * navigator, the value is memoized.
+     *
+     * @param serverURL the server URL of a source or navigator
+     * @return the normalised host or an empty string if the URL is not valid
+     *         or has no host.
+     */
+    @NonNull
+    static String hostOf(@NonNull String serverURL) {
+        try {
+            return SERVER_HOSTS.get(serverURL, () -> normalize(serverURL));
+        } catch (ExecutionException e) {
+            return INVALID;
+        }
+    }
+
+    /**
+     * Returns the lower case host of the given URL.
+     *
+     * @param url to normalise
+     * @return the normalised host or an empty string if the URL is not valid
+     *         or has no host.
+     */
+    @NonNull
+    static String normalize(@CheckForNull String url) {
+        if (url == null) {
+            return INVALID;
+        }
+        try {
+            String host = new URI(url).getHost();
+            return host == null ? INVALID : host.toLowerCase(Locale.ENGLISH);
+        } catch (URISyntaxException e) {
+            return INVALID;
+        }
+    }
+}
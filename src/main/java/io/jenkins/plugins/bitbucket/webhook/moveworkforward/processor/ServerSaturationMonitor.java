@@ -0,0 +1,188 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2026, Nikolas Falco
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package io.jenkins.plugins.bitbucket.webhook.moveworkforward.processor;
+
+import edu.umd.cs.findbugs.annotations.NonNull;
+import hudson.Extension;
+import hudson.ExtensionList;
+import hudson.model.AdministrativeMonitor;
+import io.jenkins.plugins.bitbucket.webhook.Messages;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.kohsuke.accmod.Restricted;
+import org.kohsuke.accmod.restrictions.NoExternalUse;
+
+/**
+ * Warns administrators when the webhooks of some Bitbucket server have been
+ * rejected recently because its bulkhead was saturated, together with the
+ * load of the lanes and the skipped deliveries to help tuning the
+ * ingestion.
+ */
+@Restricted(NoExternalUse.class)
+@Extension
+public class ServerSaturationMonitor extends AdministrativeMonitor {
+    private static final long RECENT_MILLIS = TimeUnit.MINUTES.toMillis(15);
+
+    @Override
+    public String getDisplayName() {
+        return Messages.ServerSaturationMonitor_displayName();
+    }
+
+    @Override
+    public boolean isActivated() {
+        return !getSaturatedServers().isEmpty();
+    }
+
+    /**
+     * Returns the bulkheads of the servers that have rejected webhooks in the
+     * last 15 minutes.
+     *
+     * @return the saturated bulkheads.
+     */
+    @NonNull
+    public List<ServerBulkhead> getSaturatedServers() {
+        long since = System.currentTimeMillis() - RECENT_MILLIS;
+        List<ServerBulkhead> result = new ArrayList<>();
+        for (ServerBulkhead bulkhead : AbstractPostWebhookProcessor.getBulkheads()) {
+            if (bulkhead.getLastRejection() > since) {
+                result.add(bulkhead);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Returns the load of the lanes when webhooks are processed
+     * asynchronously.
+     *
+     * @return the statistics of each lane, empty when webhooks are processed
+     *         synchronously.
+     */
+    @NonNull
+    public List<LaneStatistics> getLanes() {
+        List<LaneStatistics> result = new ArrayList<>();
+        if (AbstractPostWebhookProcessor.ASYNC_PROCESSING) {
+            for (WebhookLane lane : WebhookLane.values()) {
+                result.add(new LaneStatistics(lane, AbstractPostWebhookProcessor.getQueue(lane)));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Returns the number of redeliveries recognised and skipped by all
+     * processors.
+     *
+     * @return the number of skipped redeliveries since startup.
+     */
+    public long getSkippedRedeliveries() {
+        long result = 0;
+        for (AbstractPostWebhookProcessor processor : ExtensionList.lookup(AbstractPostWebhookProcessor.class)) {
+            result += processor.deduplicator.getHits();
+        }
+        return result;
+    }
+
+    /**
+     * Returns the number of deliveries checked for redelivery by all
+     * processors.
+     *
+     * @return the number of checked deliveries since startup, {@code 0} when
+     *         redeliveries are not recognised.
+     */
+    public long getCheckedDeliveries() {
+        long result = 0;
+        for (AbstractPostWebhookProcessor processor : ExtensionList.lookup(AbstractPostWebhookProcessor.class)) {
+            result += processor.deduplicator.getHits() + processor.deduplicator.getMisses();
+        }
+        return result;
+    }
+
+    /**
+     * Returns the number of pull request updates skipped because they did
+     * not change the revisions of the pull request.
+     *
+     * @return the number of skipped updates since startup.
+     */
+    public long getSkippedPullRequestUpdates() {
+        long result = 0;
+        for (PostWebhooksPullRequestProcessor processor : ExtensionList.lookup(PostWebhooksPullRequestProcessor.class)) {
+            result += processor.revisions.getSkipped();
+        }
+        return result;
+    }
+
+    /**
+     * A snapshot of the load of a lane.
+     */
+    public static final class LaneStatistics {
+        private final WebhookLane lane;
+        private final int activeCount;
+        private final int queueDepth;
+        private final long averageWaitMillis;
+        private final long maxWaitMillis;
+        private final long submitted;
+        private final long rejected;
+
+        private LaneStatistics(WebhookLane lane, WebhookWorkQueue queue) {
+            this.lane = lane;
+            this.activeCount = queue.getActiveCount();
+            this.queueDepth = queue.getQueueDepth();
+            this.averageWaitMillis = queue.getAverageWaitMillis();
+            this.maxWaitMillis = queue.getMaxWaitMillis();
+            this.submitted = queue.getSubmitted();
+            this.rejected = queue.getRejected();
+        }
+
+        @NonNull
+        public WebhookLane getLane() {
+            return lane;
+        }
+
+        public int getActiveCount() {
+            return activeCount;
+        }
+
+        public int getQueueDepth() {
+            return queueDepth;
+        }
+
+        public long getAverageWaitMillis() {
+            return averageWaitMillis;
+        }
+
+        public long getMaxWaitMillis() {
+            return maxWaitMillis;
+        }
+
+        public long getSubmitted() {
+            return submitted;
+        }
+
+        public long getRejected() {
+            return rejected;
+        }
+    }
+}
@@ -0,0 +1,374 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2026, Nikolas Falco
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package io.jenkins.plugins.bitbucket.webhook.moveworkforward.processor;
+
+import com.cloudbees.jenkins.plugins.bitbucket.BitbucketSCMNavigator;
+import com.cloudbees.jenkins.plugins.bitbucket.BitbucketSCMSource;
+import com.cloudbees.jenkins.plugins.bitbucket.endpoints.BitbucketEndpointConfiguration;
+import edu.umd.cs.findbugs.annotations.CheckForNull;
+import edu.umd.cs.findbugs.annotations.NonNull;
+import hudson.Extension;
+import hudson.XmlFile;
+import hudson.model.Item;
+import hudson.model.ItemGroup;
+import hudson.model.Saveable;
+import hudson.model.listeners.ItemListener;
+import hudson.model.listeners.SaveableListener;
+import hudson.security.ACL;
+import hudson.security.ACLContext;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
+import jenkins.model.Jenkins;
+import jenkins.scm.api.SCMNavigator;
+import jenkins.scm.api.SCMNavigatorOwner;
+import jenkins.scm.api.SCMSource;
+import jenkins.scm.api.SCMSourceOwner;
+import jenkins.scm.api.SCMSourceOwners;
+import org.apache.commons.lang3.StringUtils;
+import org.kohsuke.accmod.Restricted;
+import org.kohsuke.accmod.restrictions.NoExternalUse;
+
+/**
+ * Index of the Bitbucket sources and navigators configured in Jenkins by
+ * server host, repository owner (project key) and repository slug, all case
+ * insensitive. The host is taken from the normalised server URL.
+ * <p>
+ * The index is kept up to date when items are loaded, created, saved, moved
+ * or deleted. Only sources indexed as they are currently configured could be
+ * routed through it, a source not indexed yet or edited but not saved must be
+ * matched comparing its configuration.
+ */
+@Restricted(NoExternalUse.class)
+public final class SourceIndex {
+    private static final SourceIndex INSTANCE = new SourceIndex();
+
+    /**
+     * What an item has contributed to the index.
+     */
+    private static final class Contribution {
+        private final List<IndexedSource> sources = new ArrayList<>();
+        private final List<Map.Entry<String, BitbucketSCMNavigator>> navigators = new ArrayList<>();
+    }
+
+    /**
+     * A source with the configuration it had when it was indexed.
+     */
+    private record IndexedSource(String key, BitbucketSCMSource source, String serverURL, String repoOwner, String repository) {
+
+        static IndexedSource of(String host, BitbucketSCMSource source) {
+            return new IndexedSource(sourceKey(host, source.getRepoOwner(), source.getRepository()),
+                    source, source.getServerUrl(), source.getRepoOwner(), source.getRepository());
+        }
+
+        boolean isConfiguredAs(BitbucketSCMSource other) {
+            return Objects.equals(serverURL, other.getServerUrl())
+                    && Objects.equals(repoOwner, other.getRepoOwner())
+                    && Objects.equals(repository, other.getRepository());
+        }
+    }
+
+    private final Map<String, Set<BitbucketSCMSource>> sources = new ConcurrentHashMap<>();
+    private final Map<String, Set<BitbucketSCMNavigator>> navigators = new ConcurrentHashMap<>();
+    private final Map<Item, Contribution> contributions = new ConcurrentHashMap<>();
+    private final Map<BitbucketSCMSource, IndexedSource> indexedSources = Collections.synchronizedMap(new IdentityHashMap<>());
+    private final Set<String> hosts = ConcurrentHashMap.newKeySet();
+    private volatile boolean ready;
+
+    SourceIndex() {
+    }
+
+    static SourceIndex get() {
+        return INSTANCE;
+    }
+
+    /**
+     * Returns if all items have been indexed at least once.
+     *
+     * @return {@code true} if the index could be used to route events.
+     */
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * Returns if the sources of the given owner are in this index.
+     *
+     * @param owner the owner of some sources
+     * @return {@code true} if the sources of this owner could be routed with
+     *         this index.
+     */
+    public boolean isIndexed(@CheckForNull SCMSourceOwner owner) {
+        return owner != null && contributions.containsKey(owner);
+    }
+
+    /**
+     * Returns if the given source is in this index with its current
+     * configuration. A source edited but not saved yet, or a new instance
+     * not saved yet, is not.
+     *
+     * @param source a source
+     * @return {@code true} if the source could be routed with this index.
+     */
+    public boolean isIndexedAsConfigured(@NonNull BitbucketSCMSource source) {
+        IndexedSource indexed = indexedSources.get(source);
+        return indexed != null && indexed.isConfiguredAs(source);
+    }
+
+    /**
+     * Returns the sources configured for the given repository.
+     *
+     * @param hosts tells which of the indexed server hosts are candidates
+     * @param repoOwner the repository owner
+     * @param repository the repository slug
+     * @return an immutable identity set of sources, empty if none.
+     */
+    @NonNull
+    public Set<BitbucketSCMSource> getSources(@NonNull Predicate<String> hosts, @CheckForNull String repoOwner, @CheckForNull String repository) {
+        return collect(this.sources, hosts, '/' + lower(repoOwner) + '/' + lower(repository));
+    }
+
+    /**
+     * Returns the owners of the sources configured for the given repository.
+     *
+     * @param hosts tells which of the indexed server hosts are candidates
+     * @param repoOwner the repository owner
+     * @param repository the repository slug
+     * @return an identity set of owners, empty if none.
+     */
+    @NonNull
+    public Set<SCMSourceOwner> getOwners(@NonNull Predicate<String> hosts, @CheckForNull String repoOwner, @CheckForNull String repository) {
+        Set<SCMSourceOwner> result = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (BitbucketSCMSource source : getSources(hosts, repoOwner, repository)) {
+            SCMSourceOwner owner = source.getOwner();
+            if (owner != null) {
+                result.add(owner);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Returns the navigators configured for the given repository owner.
+     *
+     * @param hosts tells which of the indexed server hosts are candidates
+     * @param repoOwner the repository owner
+     * @return an immutable identity set of navigators, empty if none.
+     */
+    @NonNull
+    public Set<BitbucketSCMNavigator> getNavigators(@NonNull Predicate<String> hosts, @CheckForNull String repoOwner) {
+        return collect(this.navigators, hosts, '/' + lower(repoOwner));
+    }
+
+    private <T> Set<T> collect(Map<String, Set<T>> index, Predicate<String> hosts, String suffix) {
+        Set<T> result = null;
+        // few distinct servers are configured
+        for (String host : this.hosts) {
+            if (hosts.test(host)) {
+                Set<T> elements = index.get(host + suffix);
+                if (elements != null) {
+                    if (result == null) {
+                        result = elements;
+                    } else {
+                        Set<T> union = Collections.newSetFromMap(new IdentityHashMap<>());
+                        union.addAll(result);
+                        union.addAll(elements);
+                        result = Collections.unmodifiableSet(union);
+                    }
+                }
+            }
+        }
+        return result == null ? Collections.emptySet() : result;
+    }
+
+    synchronized void rebuild() {
+        sources.clear();
+        navigators.clear();
+        contributions.clear();
+        indexedSources.clear();
+        hosts.clear();
+        Jenkins jenkins = Jenkins.getInstanceOrNull();
+        if (jenkins == null) {
+            return;
+        }
+        try (ACLContext ctx = ACL.as2(ACL.SYSTEM2)) {
+            for (SCMSourceOwner owner : SCMSourceOwners.all()) {
+                add(owner);
+            }
+            for (SCMNavigatorOwner owner : jenkins.allItems(SCMNavigatorOwner.class)) {
+                add(owner);
+            }
+        }
+        ready = true;
+    }
+
+    synchronized void index(@NonNull Item item) {
+        if (item instanceof SCMSourceOwner || item instanceof SCMNavigatorOwner) {
+            remove(item);
+            try (ACLContext ctx = ACL.as2(ACL.SYSTEM2)) {
+                add(item);
+            }
+        }
+    }
+
+    synchronized void remove(@NonNull Item item) {
+        removeContribution(item);
+        if (item instanceof ItemGroup<?>) {
+            // children are not notified when the whole folder is deleted
+            String prefix = item.getFullName() + '/';
+            for (Item owner : new ArrayList<>(contributions.keySet())) {
+                if (owner.getFullName().startsWith(prefix)) {
+                    removeContribution(owner);
+                }
+            }
+        }
+    }
+
+    private void add(Item item) {
+        Contribution contribution = new Contribution();
+        if (item instanceof SCMSourceOwner owner) {
+            for (SCMSource source : owner.getSCMSources()) {
+                if (source instanceof BitbucketSCMSource src) {
+                    IndexedSource indexed = IndexedSource.of(hostKey(src.getServerUrl()), src);
+                    sources.put(indexed.key(), with(sources.get(indexed.key()), src));
+                    indexedSources.put(src, indexed);
+                    contribution.sources.add(indexed);
+                }
+            }
+        }
+        if (item instanceof SCMNavigatorOwner owner) {
+            for (SCMNavigator navigator : owner.getSCMNavigators()) {
+                if (navigator instanceof BitbucketSCMNavigator nav) {
+                    String key = navigatorKey(hostKey(nav.getServerUrl()), nav.getRepoOwner());
+                    navigators.put(key, with(navigators.get(key), nav));
+                    contribution.navigators.add(Map.entry(key, nav));
+                }
+            }
+        }
+        contributions.put(item, contribution);
+    }
+
+    private void removeContribution(Item item) {
+        Contribution contribution = contributions.remove(item);
+        if (contribution == null) {
+            return;
+        }
+        for (IndexedSource indexed : contribution.sources) {
+            removeFrom(sources, indexed.key(), indexed.source());
+            indexedSources.remove(indexed.source(), indexed);
+        }
+        for (Map.Entry<String, BitbucketSCMNavigator> entry : contribution.navigators) {
+            removeFrom(navigators, entry.getKey(), entry.getValue());
+        }
+    }
+
+    private static <T> Set<T> with(@CheckForNull Set<T> current, T element) {
+        Set<T> result = Collections.newSetFromMap(new IdentityHashMap<>());
+        if (current != null) {
+            result.addAll(current);
+        }
+        result.add(element);
+        return Collections.unmodifiableSet(result);
+    }
+
+    private static <T> void removeFrom(Map<String, Set<T>> index, String key, T element) {
+        Set<T> current = index.get(key);
+        if (current == null || !current.contains(element)) {
+            return;
+        }
+        if (current.size() == 1) {
+            index.remove(key);
+        } else {
+            Set<T> result = Collections.newSetFromMap(new IdentityHashMap<>());
+            result.addAll(current);
+            result.remove(element);
+            index.put(key, Collections.unmodifiableSet(result));
+        }
+    }
+
+    private String hostKey(String serverURL) {
+        String host = ServerHosts.hostOf(BitbucketEndpointConfiguration.normalizeServerUrl(serverURL));
+        hosts.add(host);
+        return host;
+    }
+
+    private static String sourceKey(String host, String repoOwner, String repository) {
+        return host + '/' + lower(repoOwner) + '/' + lower(repository);
+    }
+
+    private static String navigatorKey(String host, String repoOwner) {
+        return host + '/' + lower(repoOwner);
+    }
+
+    private static String lower(String value) {
+        return StringUtils.defaultString(value).toLowerCase(Locale.ENGLISH);
+    }
+
+    @Extension
+    public static final class ItemListenerImpl extends ItemListener {
+
+        @Override
+        public void onLoaded() {
+            INSTANCE.rebuild();
+        }
+
+        @Override
+        public void onCreated(Item item) {
+            INSTANCE.index(item);
+        }
+
+        @Override
+        public void onUpdated(Item item) {
+            INSTANCE.index(item);
+        }
+
+        @Override
+        public void onLocationChanged(Item item, String oldFullName, String newFullName) {
+            INSTANCE.index(item);
+        }
+
+        @Override
+        public void onDeleted(Item item) {
+            INSTANCE.remove(item);
+        }
+    }
+
+    @Extension
+    public static final class SaveableListenerImpl extends SaveableListener {
+
+        @Override
+        public void onChange(Saveable o, XmlFile file) {
+            if (o instanceof Item item) {
+                INSTANCE.index(item);
+            }
+        }
+    }
+}
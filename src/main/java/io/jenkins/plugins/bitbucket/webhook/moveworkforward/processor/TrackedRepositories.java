@@ -0,0 +1,131 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2026, Nikolas Falco
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package io.jenkins.plugins.bitbucket.webhook.moveworkforward.processor;
+
+import com.cloudbees.jenkins.plugins.bitbucket.BitbucketSCMNavigator;
+import com.cloudbees.jenkins.plugins.bitbucket.BitbucketSCMSource;
+import edu.umd.cs.findbugs.annotations.CheckForNull;
+import edu.umd.cs.findbugs.annotations.NonNull;
+import hudson.security.ACL;
+import hudson.security.ACLContext;
+import jenkins.model.Jenkins;
+import jenkins.scm.api.SCMNavigator;
+import jenkins.scm.api.SCMNavigatorOwner;
+import jenkins.scm.api.SCMSource;
+import jenkins.scm.api.SCMSourceOwner;
+import jenkins.scm.api.SCMSourceOwners;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.Strings;
+
+/**
+ * Tells if a repository is of interest for any Bitbucket source or navigator
+ * configured in Jenkins.
+ */
+final class TrackedRepositories {
+
+    private TrackedRepositories() {
+    }
+
+    /**
+     * Returns if at least one {@link BitbucketSCMSource} or
+     * {@link BitbucketSCMNavigator} could be interested in events of the
+     * given repository.
+     *
+     * @param repository the repository that has generated the event
+     * @return {@code false} only when it is sure that nobody will process
+     *         events of this repository.
+     */
+    public static boolean isTracked(@NonNull RepositoryIdentity repository) {
+        Jenkins jenkins = Jenkins.getInstanceOrNull();
+        if (jenkins == null || !repository.isComplete()) {
+            return true;
+        }
+        SourceIndex index = SourceIndex.get();
+        if (index.isReady()) {
+            for (BitbucketSCMSource source : index.getSources(host -> isHostMatch(host, repository), repository.getProjectKey(), repository.getRepositorySlug())) {
+                if (isMatch(source, repository)) {
+                    return true;
+                }
+            }
+            for (BitbucketSCMNavigator navigator : index.getNavigators(host -> isHostMatch(host, repository), repository.getProjectKey())) {
+                if (isMatch(navigator, repository)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+        try (ACLContext ctx = ACL.as2(ACL.SYSTEM2)) {
+            for (SCMSourceOwner owner : SCMSourceOwners.all()) {
+                for (SCMSource source : owner.getSCMSources()) {
+                    if (source instanceof BitbucketSCMSource src && isMatch(src, repository)) {
+                        return true;
+                    }
+                }
+            }
+            for (SCMNavigatorOwner owner : jenkins.allItems(SCMNavigatorOwner.class)) {
+                for (SCMNavigator navigator : owner.getSCMNavigators()) {
+                    if (navigator instanceof BitbucketSCMNavigator nav && isMatch(nav, repository)) {
+                        return true;
+                    }
+                }
+            }
+        }
+        return false;
+    }
+
+    private static boolean isMatch(BitbucketSCMSource source, RepositoryIdentity repository) {
+        return Strings.CI.equals(source.getRepoOwner(), repository.getProjectKey())
+                && Strings.CI.equals(source.getRepository(), repository.getRepositorySlug())
+                && isServerURLMatch(source.getServerUrl(), repository);
+    }
+
+    private static boolean isMatch(BitbucketSCMNavigator navigator, RepositoryIdentity repository) {
+        String projectKey = navigator.getProjectKey();
+        return (StringUtils.isBlank(projectKey) || StringUtils.equalsIgnoreCase(projectKey, repository.getProjectKey()))
+                && Strings.CI.equals(navigator.getRepoOwner(), repository.getProjectKey())
+                && isServerURLMatch(navigator.getServerUrl(), repository);
+    }
+
+    private static boolean isServerURLMatch(@CheckForNull String serverURL, RepositoryIdentity repository) {
+        if (serverURL == null) {
+            return false;
+        }
+        return isHostMatch(ServerHosts.hostOf(serverURL), repository);
+    }
+
+    private static boolean isHostMatch(@NonNull String host, RepositoryIdentity repository) {
+        if (repository.getSelfLinks().isEmpty()) {
+            return true;
+        }
+        if (host.isEmpty()) {
+            return false;
+        }
+        for (String link : repository.getSelfLinks()) {
+            if (host.equals(ServerHosts.normalize(link))) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,62 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2026, Nikolas Falco
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package io.jenkins.plugins.bitbucket.webhook.moveworkforward.processor;
+
+import jenkins.util.SystemProperties;
+
+/**
+ * Scheduling lanes of the webhooks processed asynchronously. Each lane has
+ * its own workers and queue so that pull request events never wait behind
+ * a flood of push or tag events.
+ * <p>
+ * The number of workers and the queue capacity of each lane could be
+ * tuned with the system properties
+ * {@code <lane class>.<LANE>.workers} and {@code <lane class>.<LANE>.capacity}.
+ * A lane needs at least two workers to isolate the servers from each other,
+ * a single server never takes all the workers of a lane.
+ */
+public enum WebhookLane {
+    PULL_REQUEST(3, 500),
+    PUSH(3, 1000),
+    /**
+     * Tag pushes and mirror synchronisations, which usually come in waves.
+     */
+    TAG(2, 1000);
+
+    private final int defaultWorkers;
+    private final int defaultCapacity;
+
+    WebhookLane(int defaultWorkers, int defaultCapacity) {
+        this.defaultWorkers = defaultWorkers;
+        this.defaultCapacity = defaultCapacity;
+    }
+
+    int getWorkers() {
+        return Math.max(1, SystemProperties.getInteger(WebhookLane.class.getName() + '.' + name() + ".workers", defaultWorkers));
+    }
+
+    int getCapacity() {
+        return Math.max(1, SystemProperties.getInteger(WebhookLane.class.getName() + '.' + name() + ".capacity", defaultCapacity));
+    }
+}
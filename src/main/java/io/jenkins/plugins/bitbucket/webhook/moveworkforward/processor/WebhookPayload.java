@@ -27,10 +27,13 @@ import com.cloudbees.jenkins.plugins.bitbucket.api.BitbucketPullRequestEvent;
 import com.cloudbees.jenkins.plugins.bitbucket.api.BitbucketPushEvent;
 import com.cloudbees.jenkins.plugins.bitbucket.server.events.BitbucketServerPullRequestEvent;
 import com.cloudbees.jenkins.plugins.bitbucket.server.events.BitbucketServerPushEvent;
+import com.fasterxml.jackson.core.JsonToken;
 import edu.umd.cs.findbugs.annotations.CheckForNull;
 import edu.umd.cs.findbugs.annotations.NonNull;
 import io.jenkins.plugins.bitbucket.webhook.JsonParser;
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -47,6 +50,16 @@ final class WebhookPayload {
         return null;
     }
 
+    @CheckForNull
+    public static BitbucketPushEvent pushEventFromPayload(@NonNull byte[] payload) {
+        try {
+            return JsonParser.toJava(payload, BitbucketServerPushEvent.class);
+        } catch (IOException e) {
+            LOGGER.log(Level.SEVERE, "Can not read hook payload", e);
+        }
+        return null;
+    }
+
     @CheckForNull
     public static BitbucketPullRequestEvent pullRequestEventFromPayload(@NonNull String payload) {
         try {
@@ -56,4 +69,156 @@ final class WebhookPayload {
         }
         return null;
     }
+
+    @CheckForNull
+    public static BitbucketPullRequestEvent pullRequestEventFromPayload(@NonNull byte[] payload) {
+        try {
+            return JsonParser.toJava(payload, BitbucketServerPullRequestEvent.class);
+        } catch (IOException e) {
+            LOGGER.log(Level.SEVERE, "Can not read hook payload", e);
+        }
+        return null;
+    }
+
+    /**
+     * Reads only the {@code repository} block of a push or pull request
+     * payload, all other fields are skipped without being bound.
+     *
+     * @param payload the webhook payload
+     * @return the repository identity or {@code null} if the payload does not
+     *         contain a repository block or is malformed.
+     */
+    @CheckForNull
+    public static RepositoryIdentity repositoryFromPayload(@NonNull String payload) {
+        try (com.fasterxml.jackson.core.JsonParser parser = JsonParser.createParser(payload)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                return null;
+            }
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                JsonToken value = parser.nextToken();
+                if ("repository".equals(field) && value == JsonToken.START_OBJECT) {
+                    return readRepository(parser);
+                }
+                parser.skipChildren();
+            }
+        } catch (IOException e) {
+            LOGGER.log(Level.FINE, "Can not read repository from hook payload", e);
+        }
+        return null;
+    }
+
+    /**
+     * Returns if all references changed by a push payload are tags, only the
+     * {@code push} block is read.
+     *
+     * @param payload the push webhook payload
+     * @return {@code true} if the push contains only changes of tags.
+     */
+    public static boolean isTagPush(@NonNull String payload) {
+        try (com.fasterxml.jackson.core.JsonParser parser = JsonParser.createParser(payload)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                return false;
+            }
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                JsonToken value = parser.nextToken();
+                if ("push".equals(field) && value == JsonToken.START_OBJECT) {
+                    return isTagChanges(parser);
+                }
+                parser.skipChildren();
+            }
+        } catch (IOException e) {
+            LOGGER.log(Level.FINE, "Can not read changes from hook payload", e);
+        }
+        return false;
+    }
+
+    private static boolean isTagChanges(com.fasterxml.jackson.core.JsonParser parser) throws IOException {
+        boolean tags = false;
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            JsonToken value = parser.nextToken();
+            if ("changes".equals(field) && value == JsonToken.START_ARRAY) {
+                JsonToken item;
+                while ((item = parser.nextToken()) != null && item != JsonToken.END_ARRAY) {
+                    if (item != JsonToken.START_OBJECT) {
+                        parser.skipChildren();
+                        continue;
+                    }
+                    while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                        String changeField = parser.currentName();
+                        JsonToken changeValue = parser.nextToken();
+                        if (("new".equals(changeField) || "old".equals(changeField)) && changeValue == JsonToken.START_OBJECT) {
+                            if (!"tag".equals(readField(parser, "type"))) {
+                                return false;
+                            }
+                            tags = true;
+                        } else {
+                            parser.skipChildren();
+                        }
+                    }
+                }
+            } else {
+                parser.skipChildren();
+            }
+        }
+        return tags;
+    }
+
+    private static RepositoryIdentity readRepository(com.fasterxml.jackson.core.JsonParser parser) throws IOException {
+        String projectKey = null;
+        String slug = null;
+        List<String> selfLinks = new ArrayList<>(1);
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            JsonToken value = parser.nextToken();
+            if ("slug".equals(field) && value == JsonToken.VALUE_STRING) {
+                slug = parser.getText();
+            } else if ("project".equals(field) && value == JsonToken.START_OBJECT) {
+                projectKey = readField(parser, "key");
+            } else if ("links".equals(field) && value == JsonToken.START_OBJECT) {
+                readSelfLinks(parser, selfLinks);
+            } else {
+                parser.skipChildren();
+            }
+        }
+        return new RepositoryIdentity(projectKey, slug, selfLinks);
+    }
+
+    private static String readField(com.fasterxml.jackson.core.JsonParser parser, String name) throws IOException {
+        String result = null;
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            JsonToken value = parser.nextToken();
+            if (name.equals(field) && value == JsonToken.VALUE_STRING) {
+                result = parser.getText();
+            } else {
+                parser.skipChildren();
+            }
+        }
+        return result;
+    }
+
+    private static void readSelfLinks(com.fasterxml.jackson.core.JsonParser parser, List<String> selfLinks) throws IOException {
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            JsonToken value = parser.nextToken();
+            if ("self".equals(field) && value == JsonToken.START_ARRAY) {
+                JsonToken item;
+                while ((item = parser.nextToken()) != null && item != JsonToken.END_ARRAY) {
+                    if (item == JsonToken.START_OBJECT) {
+                        String href = readField(parser, "href");
+                        if (href != null) {
+                            selfLinks.add(href);
+                        }
+                    } else {
+                        parser.skipChildren();
+                    }
+                }
+            } else {
+                parser.skipChildren();
+            }
+        }
+    }
 }
@@ -0,0 +1,50 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2026, Nikolas Falco
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package io.jenkins.plugins.bitbucket.webhook.moveworkforward.processor;
+
+/**
+ * Limits of the webhooks processed for a Bitbucket server when
+ * asynchronous processing is enabled, implemented by the webhook
+ * configuration of the endpoint.
+ */
+public interface WebhookProcessingLimits {
+    int DEFAULT_MAX_CONCURRENT_EVENTS = 2;
+    int DEFAULT_MAX_QUEUED_EVENTS = 500;
+
+    /**
+     * Returns the maximum number of webhooks of the server processed at the
+     * same time in each lane.
+     *
+     * @return the maximum number of concurrent webhooks.
+     */
+    int getMaxConcurrentEvents();
+
+    /**
+     * Returns the maximum number of webhooks of the server waiting to be
+     * processed in each lane, further webhooks are rejected.
+     *
+     * @return the maximum number of queued webhooks.
+     */
+    int getMaxQueuedEvents();
+}
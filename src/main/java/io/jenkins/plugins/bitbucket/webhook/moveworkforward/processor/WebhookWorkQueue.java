@@ -0,0 +1,188 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2026, Nikolas Falco
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package io.jenkins.plugins.bitbucket.webhook.moveworkforward.processor;
+
+import com.cloudbees.jenkins.plugins.bitbucket.api.webhook.BitbucketWebhookProcessorException;
+import edu.umd.cs.findbugs.annotations.NonNull;
+import hudson.util.DaemonThreadFactory;
+import hudson.util.NamingThreadFactory;
+import jakarta.servlet.http.HttpServletResponse;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * A bounded queue of webhook payloads processed by a pool of workers, so
+ * that the HTTP request is acknowledged as soon as the payload is queued.
+ * <p>
+ * When the queue is full the payload is rejected with
+ * {@link HttpServletResponse#SC_SERVICE_UNAVAILABLE} so that Bitbucket
+ * retries the delivery later instead of holding a request thread.
+ */
+final class WebhookWorkQueue {
+    private static final Logger logger = Logger.getLogger(WebhookWorkQueue.class.getName());
+
+    private final String name;
+    private final ThreadPoolExecutor executor;
+    private final AtomicLong submitted = new AtomicLong();
+    private final AtomicLong rejected = new AtomicLong();
+    private final AtomicLong totalWaitNanos = new AtomicLong();
+    private final AtomicLong maxWaitNanos = new AtomicLong();
+    private final AtomicLong started = new AtomicLong();
+
+    /**
+     * Creates a queue.
+     *
+     * @param name of the queue, used to name the worker threads
+     * @param workers the maximum number of payloads processed concurrently
+     * @param capacity the maximum number of payloads waiting for a worker
+     * @param virtualThreads if workers should be virtual threads when the
+     *        JVM supports them
+     */
+    WebhookWorkQueue(@NonNull String name, int workers, int capacity, boolean virtualThreads) {
+        this.name = name;
+        this.executor = new ThreadPoolExecutor(workers, workers,
+                60L, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, capacity)),
+                newThreadFactory(name, virtualThreads),
+                new ThreadPoolExecutor.AbortPolicy());
+        this.executor.allowCoreThreadTimeOut(true);
+    }
+
+    private static ThreadFactory newThreadFactory(String name, boolean virtualThreads) {
+        if (virtualThreads) {
+            ThreadFactory factory = VirtualThreads.newThreadFactory(name);
+            if (factory != null) {
+                return factory;
+            }
+            logger.log(Level.INFO, "Virtual threads are not supported by this JVM, {0} uses platform threads", name);
+        }
+        return new NamingThreadFactory(new DaemonThreadFactory(), name);
+    }
+
+    /**
+     * Queues the given task.
+     *
+     * @param description of the task, used for logging
+     * @param task to run
+     * @throws BitbucketWebhookProcessorException with status
+     *         {@link HttpServletResponse#SC_SERVICE_UNAVAILABLE} if the queue
+     *         is full.
+     */
+    void submit(@NonNull String description, @NonNull Runnable task) {
+        long queuedAt = System.nanoTime();
+        try {
+            executor.execute(() -> {
+                long wait = System.nanoTime() - queuedAt;
+                totalWaitNanos.addAndGet(wait);
+                maxWaitNanos.accumulateAndGet(wait, Math::max);
+                started.incrementAndGet();
+                try {
+                    task.run();
+                } catch (RuntimeException e) {
+                    logger.log(Level.WARNING, e, () -> "Failed to process " + description);
+                }
+            });
+            submitted.incrementAndGet();
+        } catch (RejectedExecutionException e) {
+            rejected.incrementAndGet();
+            logger.log(Level.FINE, "Queue {0} is full, reject {1}", new Object[] { name, description });
+            throw new BitbucketWebhookProcessorException(HttpServletResponse.SC_SERVICE_UNAVAILABLE, "Too many webhooks waiting to be processed, retry later");
+        }
+    }
+
+    /**
+     * Returns the number of workers of the queue.
+     *
+     * @return the maximum number of payloads processed concurrently.
+     */
+    int getWorkers() {
+        return executor.getMaximumPoolSize();
+    }
+
+    /**
+     * Returns the number of payloads waiting for a worker.
+     *
+     * @return the queue depth.
+     */
+    public int getQueueDepth() {
+        return executor.getQueue().size();
+    }
+
+    /**
+     * Returns the number of payloads currently processed.
+     *
+     * @return the number of busy workers.
+     */
+    public int getActiveCount() {
+        return executor.getActiveCount();
+    }
+
+    /**
+     * Returns the number of payloads accepted since startup.
+     *
+     * @return the number of accepted payloads.
+     */
+    public long getSubmitted() {
+        return submitted.get();
+    }
+
+    /**
+     * Returns the number of payloads rejected because the queue was full.
+     *
+     * @return the number of rejected payloads.
+     */
+    public long getRejected() {
+        return rejected.get();
+    }
+
+    /**
+     * Returns the average time a payload waits in the queue before a worker
+     * takes it.
+     *
+     * @return the average wait time in milliseconds.
+     */
+    public long getAverageWaitMillis() {
+        long count = started.get();
+        return count == 0 ? 0 : TimeUnit.NANOSECONDS.toMillis(totalWaitNanos.get() / count);
+    }
+
+    /**
+     * Returns the longest time a payload has waited in the queue.
+     *
+     * @return the maximum wait time in milliseconds.
+     */
+    public long getMaxWaitMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(maxWaitNanos.get());
+    }
+
+    void shutdown() {
+        executor.shutdown();
+    }
+}
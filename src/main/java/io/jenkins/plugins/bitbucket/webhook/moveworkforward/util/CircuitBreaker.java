@@ -0,0 +1,216 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2026, Nikolas Falco
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package io.jenkins.plugins.bitbucket.webhook.moveworkforward.util;
+
+import edu.umd.cs.findbugs.annotations.NonNull;
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import jenkins.util.SystemProperties;
+import org.kohsuke.accmod.Restricted;
+import org.kohsuke.accmod.restrictions.NoExternalUse;
+
+/**
+ * Circuit breaker of the REST calls made to a Bitbucket server to manage
+ * hooks.
+ * <p>
+ * After {@code CircuitBreaker.failureThreshold} consecutive failures the
+ * circuit opens and calls fail immediately for
+ * {@code CircuitBreaker.openSeconds}, then a single call is let through to
+ * probe the server: the circuit closes if it succeeds, otherwise it opens
+ * again.
+ */
+@Restricted(NoExternalUse.class)
+public final class CircuitBreaker {
+    private static final Logger logger = Logger.getLogger(CircuitBreaker.class.getName());
+    @SuppressFBWarnings(value = "MS_SHOULD_BE_FINAL", justification = "tunable from the script console")
+    public static int FAILURE_THRESHOLD = SystemProperties.getInteger(CircuitBreaker.class.getName() + ".failureThreshold", 5);
+    @SuppressFBWarnings(value = "MS_SHOULD_BE_FINAL", justification = "tunable from the script console")
+    public static long OPEN_SECONDS = SystemProperties.getLong(CircuitBreaker.class.getName() + ".openSeconds", 30L);
+    private static final Map<String, CircuitBreaker> BREAKERS = new ConcurrentHashMap<>();
+
+    public enum State {
+        CLOSED,
+        OPEN,
+        HALF_OPEN
+    }
+
+    private final String serverURL;
+    private State state = State.CLOSED;
+    private int consecutiveFailures;
+    private long openedAt;
+    private final AtomicLong opened = new AtomicLong();
+    private final AtomicLong shortCircuited = new AtomicLong();
+    private final AtomicLong retries = new AtomicLong();
+
+    CircuitBreaker(@NonNull String serverURL) {
+        this.serverURL = serverURL;
+    }
+
+    /**
+     * Returns the circuit breaker of the given server.
+     *
+     * @param serverURL the Bitbucket server URL
+     * @return the circuit breaker of the server.
+     */
+    @NonNull
+    public static CircuitBreaker of(@NonNull String serverURL) {
+        return BREAKERS.computeIfAbsent(serverURL, CircuitBreaker::new);
+    }
+
+    /**
+     * Returns the circuit breakers of the servers called since startup.
+     *
+     * @return the circuit breakers.
+     */
+    @NonNull
+    public static List<CircuitBreaker> getBreakers() {
+        return new ArrayList<>(BREAKERS.values());
+    }
+
+    /**
+     * Returns the state of the circuit of each server.
+     *
+     * @return the states by server URL.
+     */
+    @NonNull
+    public static Map<String, State> getStates() {
+        Map<String, State> states = new LinkedHashMap<>();
+        BREAKERS.forEach((serverURL, breaker) -> states.put(serverURL, breaker.getState()));
+        return states;
+    }
+
+    /**
+     * Checks a call can be made to the server.
+     *
+     * @throws IOException if the circuit is open.
+     */
+    synchronized void acquire() throws IOException {
+        if (state == State.OPEN) {
+            if (System.nanoTime() - openedAt < TimeUnit.SECONDS.toNanos(OPEN_SECONDS)) {
+                shortCircuited.incrementAndGet();
+                throw new IOException("Bitbucket server " + serverURL + " is unavailable, hook management suspended for " + OPEN_SECONDS + " seconds");
+            }
+            state = State.HALF_OPEN;
+        } else if (state == State.HALF_OPEN) {
+            // a probe is already in progress
+            shortCircuited.incrementAndGet();
+            throw new IOException("Bitbucket server " + serverURL + " is unavailable, waiting for the server to recover");
+        }
+    }
+
+    synchronized void onSuccess() {
+        if (state != State.CLOSED) {
+            logger.log(Level.INFO, "Bitbucket server {0} recovered, hook management resumed ({1} calls failed while suspended)",
+                    new Object[] { serverURL, shortCircuited.get() });
+        }
+        state = State.CLOSED;
+        consecutiveFailures = 0;
+    }
+
+    synchronized void onFailure() {
+        consecutiveFailures++;
+        if (state == State.HALF_OPEN || (state == State.CLOSED && consecutiveFailures >= FAILURE_THRESHOLD)) {
+            if (state == State.CLOSED) {
+                logger.log(Level.WARNING, "Bitbucket server {0} failed {1} consecutive calls, hook management suspended for {2} seconds",
+                        new Object[] { serverURL, consecutiveFailures, OPEN_SECONDS });
+            } else {
+                logger.log(Level.WARNING, "Bitbucket server {0} is still failing, hook management suspended for other {1} seconds",
+                        new Object[] { serverURL, OPEN_SECONDS });
+            }
+            state = State.OPEN;
+            openedAt = System.nanoTime();
+            opened.incrementAndGet();
+        }
+    }
+
+    void onRetry() {
+        retries.incrementAndGet();
+    }
+
+    /**
+     * Returns the URL of the server guarded by this circuit.
+     *
+     * @return the Bitbucket server URL.
+     */
+    @NonNull
+    public String getServerURL() {
+        return serverURL;
+    }
+
+    /**
+     * Returns the state of the circuit.
+     *
+     * @return the circuit state.
+     */
+    @NonNull
+    public synchronized State getState() {
+        return state;
+    }
+
+    /**
+     * Returns the number of consecutive failed calls.
+     *
+     * @return the consecutive failures.
+     */
+    public synchronized int getConsecutiveFailures() {
+        return consecutiveFailures;
+    }
+
+    /**
+     * Returns how many times the circuit has opened since startup.
+     *
+     * @return the number of times the circuit opened.
+     */
+    public long getOpened() {
+        return opened.get();
+    }
+
+    /**
+     * Returns the number of calls failed immediately because the circuit was
+     * open.
+     *
+     * @return the short-circuited calls.
+     */
+    public long getShortCircuited() {
+        return shortCircuited.get();
+    }
+
+    /**
+     * Returns the number of calls retried after a transient failure.
+     *
+     * @return the retried calls.
+     */
+    public long getRetries() {
+        return retries.get();
+    }
+}
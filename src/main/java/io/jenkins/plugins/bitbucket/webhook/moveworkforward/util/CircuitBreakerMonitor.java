@@ -0,0 +1,68 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2026, Nikolas Falco
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package io.jenkins.plugins.bitbucket.webhook.moveworkforward.util;
+
+import edu.umd.cs.findbugs.annotations.NonNull;
+import hudson.Extension;
+import hudson.model.AdministrativeMonitor;
+import io.jenkins.plugins.bitbucket.webhook.Messages;
+import java.util.ArrayList;
+import java.util.List;
+import org.kohsuke.accmod.Restricted;
+import org.kohsuke.accmod.restrictions.NoExternalUse;
+
+/**
+ * Warns administrators when the hook management of some Bitbucket server is
+ * suspended because its circuit breaker is open.
+ */
+@Restricted(NoExternalUse.class)
+@Extension
+public class CircuitBreakerMonitor extends AdministrativeMonitor {
+
+    @Override
+    public String getDisplayName() {
+        return Messages.CircuitBreakerMonitor_displayName();
+    }
+
+    @Override
+    public boolean isActivated() {
+        return !getOpenCircuits().isEmpty();
+    }
+
+    /**
+     * Returns the circuit breakers that are not closed.
+     *
+     * @return the open circuit breakers.
+     */
+    @NonNull
+    public List<CircuitBreaker> getOpenCircuits() {
+        List<CircuitBreaker> result = new ArrayList<>();
+        for (CircuitBreaker breaker : CircuitBreaker.getBreakers()) {
+            if (breaker.getState() != CircuitBreaker.State.CLOSED) {
+                result.add(breaker);
+            }
+        }
+        return result;
+    }
+}
@@ -0,0 +1,79 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2026, Nikolas Falco
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package io.jenkins.plugins.bitbucket.webhook.moveworkforward.util;
+
+import edu.umd.cs.findbugs.annotations.NonNull;
+import hudson.Extension;
+import hudson.model.AdministrativeMonitor;
+import io.jenkins.plugins.bitbucket.webhook.Messages;
+import io.jenkins.plugins.bitbucket.webhook.moveworkforward.util.DuplicateHookSweeper.Duplicates;
+import java.util.ArrayList;
+import java.util.List;
+import org.kohsuke.accmod.Restricted;
+import org.kohsuke.accmod.restrictions.NoExternalUse;
+
+/**
+ * Warns administrators about the duplicate hooks found and left in place,
+ * because {@link DuplicateHookSweeper} runs in dry-run or has failed to
+ * remove them.
+ */
+@Restricted(NoExternalUse.class)
+@Extension
+public class DuplicateHookMonitor extends AdministrativeMonitor {
+
+    @Override
+    public String getDisplayName() {
+        return Messages.DuplicateHookMonitor_displayName();
+    }
+
+    @Override
+    public boolean isActivated() {
+        return !getDuplicates().isEmpty();
+    }
+
+    /**
+     * Returns the duplicate hooks not removed, by repository or project.
+     *
+     * @return the duplicates left.
+     */
+    @NonNull
+    public List<Duplicates> getDuplicates() {
+        List<Duplicates> result = new ArrayList<>();
+        for (Duplicates duplicates : DuplicateHookSweeper.getReport().values()) {
+            if (!duplicates.removed()) {
+                result.add(duplicates);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Returns if duplicate hooks are removed.
+     *
+     * @return {@code false} if they are only reported.
+     */
+    public boolean isRemove() {
+        return DuplicateHookSweeper.REMOVE;
+    }
+}
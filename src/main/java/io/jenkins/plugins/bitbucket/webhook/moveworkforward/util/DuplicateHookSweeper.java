@@ -0,0 +1,187 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2026, Nikolas Falco
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package io.jenkins.plugins.bitbucket.webhook.moveworkforward.util;
+
+import edu.umd.cs.findbugs.annotations.CheckForNull;
+import edu.umd.cs.findbugs.annotations.NonNull;
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import hudson.util.DaemonThreadFactory;
+import hudson.util.NamingThreadFactory;
+import java.io.IOException;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import jenkins.util.SystemProperties;
+import org.kohsuke.accmod.Restricted;
+import org.kohsuke.accmod.restrictions.NoExternalUse;
+
+/**
+ * Removes the duplicate hooks pointing to Jenkins found when the hooks of a
+ * repository are registered, left behind by callback URL changes or
+ * controller migrations, each of them delivering every event once more.
+ * <p>
+ * Only the hooks calling the same callback path of this plugin are
+ * duplicates, whatever their query, hooks calling other Jenkins endpoints
+ * are left untouched.
+ * <p>
+ * By default duplicates are only reported (dry-run), they are removed in
+ * parallel batches of {@code DuplicateHookSweeper.batchSize} when
+ * {@code DuplicateHookSweeper.remove} is {@code true}.
+ */
+@Restricted(NoExternalUse.class)
+public final class DuplicateHookSweeper {
+    private static final Logger logger = Logger.getLogger(DuplicateHookSweeper.class.getName());
+    @SuppressFBWarnings(value = "MS_SHOULD_BE_FINAL", justification = "tunable from the script console")
+    public static boolean REMOVE = SystemProperties.getBoolean(DuplicateHookSweeper.class.getName() + ".remove", false);
+    private static final int BATCH_SIZE = Math.max(1, SystemProperties.getInteger(DuplicateHookSweeper.class.getName() + ".batchSize", 5));
+    private static final Map<HookKey, Duplicates> REPORT = new ConcurrentHashMap<>();
+    private static final ThreadPoolExecutor EXECUTOR;
+
+    static {
+        EXECUTOR = new ThreadPoolExecutor(BATCH_SIZE, BATCH_SIZE,
+                60L, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(),
+                new NamingThreadFactory(new DaemonThreadFactory(), "Bitbucket duplicate hook sweeper"));
+        EXECUTOR.allowCoreThreadTimeOut(true);
+    }
+
+    /**
+     * Removes a hook.
+     */
+    @FunctionalInterface
+    public interface Remover {
+        void remove(@NonNull String hookId) throws IOException;
+    }
+
+    /**
+     * Duplicate hooks of a repository.
+     *
+     * @param key of the repository or project
+     * @param kept the hook kept
+     * @param duplicates the hooks to remove
+     * @param removed {@code true} if the duplicates have been removed,
+     *        {@code false} if they were only reported
+     */
+    public record Duplicates(HookKey key, String kept, List<String> duplicates, boolean removed) {
+    }
+
+    private DuplicateHookSweeper() {
+    }
+
+    /**
+     * Returns if the given hook URL calls the same endpoint of the callback
+     * URL, comparing the path only.
+     *
+     * @param hookURL the URL called by a hook
+     * @param callbackURL the callback URL of this plugin
+     * @return {@code true} if the hook calls the callback endpoint.
+     */
+    public static boolean isSameCallback(@CheckForNull String hookURL, @CheckForNull String callbackURL) {
+        if (hookURL == null || callbackURL == null) {
+            return false;
+        }
+        try {
+            String path = new URI(hookURL).getPath();
+            return path != null && path.equals(new URI(callbackURL).getPath());
+        } catch (URISyntaxException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Reports or removes the duplicates of the kept hook.
+     *
+     * @param key of the repository or project
+     * @param kept the identifier of the hook kept
+     * @param duplicates the identifiers of the other hooks calling the
+     *        callback endpoint
+     * @param remover removes a hook
+     * @return {@code true} if no duplicate is left, {@code false} if they
+     *         have only been reported.
+     * @throws IOException if some duplicates could not be removed
+     */
+    public static boolean sweep(@NonNull HookKey key, @NonNull String kept, @NonNull List<String> duplicates, @NonNull Remover remover) throws IOException {
+        if (duplicates.isEmpty()) {
+            REPORT.remove(key);
+            return true;
+        }
+        if (!REMOVE) {
+            logger.log(Level.INFO, "Found {0} duplicate hooks {1} of hook {2} on {3}, set {4}.remove=true to remove them",
+                    new Object[] { duplicates.size(), duplicates, kept, key, DuplicateHookSweeper.class.getName() });
+            REPORT.put(key, new Duplicates(key, kept, List.copyOf(duplicates), false));
+            return false;
+        }
+
+        List<String> failed = new ArrayList<>();
+        for (int from = 0; from < duplicates.size(); from += BATCH_SIZE) {
+            List<String> batch = duplicates.subList(from, Math.min(from + BATCH_SIZE, duplicates.size()));
+            List<Future<?>> removals = new ArrayList<>(batch.size());
+            for (String hookId : batch) {
+                removals.add(EXECUTOR.submit(() -> {
+                    remover.remove(hookId);
+                    return null;
+                }));
+            }
+            for (int i = 0; i < removals.size(); i++) {
+                try {
+                    removals.get(i).get();
+                } catch (ExecutionException e) {
+                    failed.add(batch.get(i));
+                    logger.log(Level.WARNING, e.getCause(), () -> "Failed to remove duplicate hook of " + key);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new IOException("Interrupted while removing the duplicate hooks of " + key, e);
+                }
+            }
+        }
+        logger.log(Level.INFO, "Removed {0} duplicate hooks of hook {1} on {2}", new Object[] { duplicates.size() - failed.size(), kept, key });
+        if (failed.isEmpty()) {
+            REPORT.put(key, new Duplicates(key, kept, List.copyOf(duplicates), true));
+            return true;
+        } else {
+            REPORT.put(key, new Duplicates(key, kept, List.copyOf(failed), false));
+            throw new IOException("Failed to remove the duplicate hooks " + failed + " of " + key);
+        }
+    }
+
+    /**
+     * Returns the duplicates found, or removed, by repository.
+     *
+     * @return the duplicate hooks report.
+     */
+    @NonNull
+    public static Map<HookKey, Duplicates> getReport() {
+        return Map.copyOf(REPORT);
+    }
+}
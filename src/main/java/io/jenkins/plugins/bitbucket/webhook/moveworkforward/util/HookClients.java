@@ -0,0 +1,186 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2026, Nikolas Falco
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package io.jenkins.plugins.bitbucket.webhook.moveworkforward.util;
+
+import com.cloudbees.jenkins.plugins.bitbucket.api.BitbucketApi;
+import com.cloudbees.jenkins.plugins.bitbucket.api.BitbucketApiFactory;
+import com.cloudbees.jenkins.plugins.bitbucket.api.BitbucketAuthenticatedClient;
+import com.cloudbees.jenkins.plugins.bitbucket.api.BitbucketAuthenticator;
+import com.cloudbees.jenkins.plugins.bitbucket.api.endpoint.BitbucketEndpoint;
+import com.cloudbees.jenkins.plugins.bitbucket.api.webhook.BitbucketWebhookConfiguration;
+import com.cloudbees.jenkins.plugins.bitbucket.endpoints.BitbucketEndpointConfiguration;
+import com.cloudbees.plugins.credentials.CredentialsMatchers;
+import com.cloudbees.plugins.credentials.CredentialsProvider;
+import com.cloudbees.plugins.credentials.common.StandardCredentials;
+import com.cloudbees.plugins.credentials.domains.URIRequirementBuilder;
+import edu.umd.cs.findbugs.annotations.CheckForNull;
+import edu.umd.cs.findbugs.annotations.NonNull;
+import hudson.security.ACL;
+import java.io.IOException;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import jenkins.authentication.tokens.api.AuthenticationTokens;
+import jenkins.model.Jenkins;
+import org.kohsuke.accmod.Restricted;
+import org.kohsuke.accmod.restrictions.NoExternalUse;
+
+/**
+ * Builds the Bitbucket clients used to manage the hooks of a repository
+ * outside the call that has requested it, like registrations run in
+ * background or the periodic reconciliation.
+ * <p>
+ * The client is authenticated with the credentials of the webhook
+ * configuration of the endpoint, as the client given to the managers while
+ * indexing, not with the scan credentials of the source that usually are
+ * not allowed to administer the repository. It is closed once the action is
+ * done, the client given by the caller of the manager is never retained.
+ */
+@Restricted(NoExternalUse.class)
+public final class HookClients {
+    private static final Logger logger = Logger.getLogger(HookClients.class.getName());
+    private static final HookClients INSTANCE = new HookClients(HookClients::newClient);
+
+    /**
+     * An action that needs an authenticated client.
+     */
+    @FunctionalInterface
+    public interface Action {
+        void run(@NonNull BitbucketAuthenticatedClient client) throws IOException;
+    }
+
+    /**
+     * Signals that the client to manage the hooks of a server can not be
+     * built, whatever the repository.
+     */
+    public static class ClientException extends IOException {
+        private static final long serialVersionUID = 1L;
+
+        public ClientException(String message) {
+            super(message);
+        }
+    }
+
+    /**
+     * Builds a client of a repository with the given credentials.
+     */
+    @FunctionalInterface
+    interface ClientFactory {
+        @NonNull
+        BitbucketApi create(@NonNull String serverURL, @CheckForNull StandardCredentials credentials, @NonNull String repoOwner, @NonNull String repository);
+    }
+
+    private final ClientFactory factory;
+
+    HookClients(@NonNull ClientFactory factory) {
+        this.factory = factory;
+    }
+
+    /**
+     * Returns the builder of the clients used to manage hooks.
+     *
+     * @return the hook clients.
+     */
+    @NonNull
+    public static HookClients get() {
+        return INSTANCE;
+    }
+
+    /**
+     * Runs the given action with a new client of a repository of the given
+     * server.
+     *
+     * @param serverURL the Bitbucket server URL
+     * @param repoOwner the repository owner
+     * @param repository the repository slug
+     * @param action to run
+     * @throws ClientException if the server has no endpoint configured or
+     *         the credentials of its webhook configuration are not found
+     * @throws IOException if the action fails.
+     */
+    public void run(@NonNull String serverURL, @NonNull String repoOwner, @NonNull String repository, @NonNull Action action) throws IOException {
+        BitbucketEndpoint endpoint = BitbucketEndpointConfiguration.get().findEndpoint(serverURL).orElse(null);
+        if (endpoint == null) {
+            throw new ClientException("No Bitbucket endpoint is configured for " + serverURL);
+        }
+        run(endpoint, repoOwner, repository, action);
+    }
+
+    /**
+     * Runs the given action with a new client of a repository of the given
+     * endpoint.
+     *
+     * @param endpoint the Bitbucket endpoint
+     * @param repoOwner the repository owner
+     * @param repository the repository slug
+     * @param action to run
+     * @throws ClientException if the credentials of the webhook
+     *         configuration of the endpoint are not found
+     * @throws IOException if the action fails.
+     */
+    public void run(@NonNull BitbucketEndpoint endpoint, @NonNull String repoOwner, @NonNull String repository, @NonNull Action action) throws IOException {
+        String serverURL = endpoint.getServerURL();
+        BitbucketWebhookConfiguration webhook = endpoint.getWebhook();
+        String credentialsId = webhook == null ? null : webhook.getCredentialsId();
+        StandardCredentials credentials = lookupCredentials(serverURL, credentialsId);
+        if (credentials == null) {
+            throw new ClientException("The credentials " + credentialsId + " to manage the hooks of " + serverURL + " are not found");
+        }
+        BitbucketApi api = factory.create(serverURL, credentials, repoOwner, repository);
+        try {
+            if (!(api instanceof BitbucketAuthenticatedClient client)) {
+                throw new ClientException("The Bitbucket client of " + repoOwner + "/" + repository + " is not authenticated");
+            }
+            action.run(client);
+        } finally {
+            close(api);
+        }
+    }
+
+    @CheckForNull
+    private static StandardCredentials lookupCredentials(@NonNull String serverURL, @CheckForNull String credentialsId) {
+        if (credentialsId == null) {
+            return null;
+        }
+        return CredentialsMatchers.firstOrNull(
+                CredentialsProvider.lookupCredentialsInItemGroup(StandardCredentials.class, Jenkins.get(), ACL.SYSTEM2,
+                        URIRequirementBuilder.fromUri(serverURL).build()),
+                CredentialsMatchers.withId(credentialsId));
+    }
+
+    @NonNull
+    private static BitbucketApi newClient(@NonNull String serverURL, @CheckForNull StandardCredentials credentials, @NonNull String repoOwner, @NonNull String repository) {
+        BitbucketAuthenticator authenticator = AuthenticationTokens.convert(BitbucketAuthenticator.authenticationContext(serverURL), credentials);
+        return BitbucketApiFactory.newInstance(serverURL, authenticator, repoOwner, null, repository);
+    }
+
+    private static void close(@CheckForNull BitbucketApi api) {
+        if (api instanceof AutoCloseable closeable) {
+            try {
+                closeable.close();
+            } catch (Exception e) {
+                logger.log(Level.FINE, "Failed to close the Bitbucket client", e);
+            }
+        }
+    }
+}
@@ -0,0 +1,91 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2026, Nikolas Falco
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package io.jenkins.plugins.bitbucket.webhook.moveworkforward.util;
+
+import com.google.common.hash.Hashing;
+import edu.umd.cs.findbugs.annotations.CheckForNull;
+import edu.umd.cs.findbugs.annotations.NonNull;
+import io.jenkins.plugins.bitbucket.webhook.JsonParser;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import org.kohsuke.accmod.Restricted;
+import org.kohsuke.accmod.restrictions.NoExternalUse;
+
+/**
+ * Fingerprint of the configuration of a hook, recorded in the description
+ * of the hooks created by Jenkins and in the {@link HookRegistry}, so that a
+ * hook whose fingerprint matches the expected configuration does not need
+ * to be compared field by field.
+ */
+@Restricted(NoExternalUse.class)
+public final class HookFingerprint {
+    private static final Pattern DESCRIPTION_FINGERPRINT = Pattern.compile("\\[fp:([0-9a-f]{16})\\]");
+
+    private HookFingerprint() {
+    }
+
+    /**
+     * Returns the fingerprint of the given hook configuration, computed
+     * before the fingerprint is added to its description.
+     *
+     * @param payload the expected hook
+     * @return the first 16 hexadecimal digits of the SHA-256 of the JSON
+     *         serialisation of the hook.
+     * @throws IOException if the hook could not be serialised
+     */
+    @NonNull
+    public static String of(@NonNull Object payload) throws IOException {
+        return Hashing.sha256().hashString(JsonParser.toString(payload), StandardCharsets.UTF_8).toString().substring(0, 16);
+    }
+
+    /**
+     * Returns the given description with the fingerprint.
+     *
+     * @param description of the hook
+     * @param fingerprint of the hook configuration
+     * @return the description including the fingerprint.
+     */
+    @NonNull
+    public static String describe(@NonNull String description, @NonNull String fingerprint) {
+        return description + " [fp:" + fingerprint + "]";
+    }
+
+    /**
+     * Returns the fingerprint recorded in the given description.
+     *
+     * @param description of the hook
+     * @return the fingerprint or {@code null} if the hook has not been
+     *         fingerprinted.
+     */
+    @CheckForNull
+    public static String parse(@CheckForNull String description) {
+        if (description == null) {
+            return null;
+        }
+        Matcher matcher = DESCRIPTION_FINGERPRINT.matcher(description);
+        return matcher.find() ? matcher.group(1) : null;
+    }
+}
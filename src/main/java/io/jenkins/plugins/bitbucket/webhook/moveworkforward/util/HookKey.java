@@ -0,0 +1,77 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2026, Nikolas Falco
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package io.jenkins.plugins.bitbucket.webhook.moveworkforward.util;
+
+import edu.umd.cs.findbugs.annotations.CheckForNull;
+import edu.umd.cs.findbugs.annotations.NonNull;
+import java.util.Locale;
+import org.apache.commons.lang3.StringUtils;
+import org.kohsuke.accmod.Restricted;
+import org.kohsuke.accmod.restrictions.NoExternalUse;
+
+/**
+ * Identifies the hooks of a repository, or of a project when the repository
+ * slug is {@code null}, on a Bitbucket server. Project key and repository
+ * slug are case insensitive.
+ *
+ * @param serverURL the Bitbucket server URL
+ * @param projectKey the project key, lower case
+ * @param repositorySlug the repository slug, lower case
+ */
+@Restricted(NoExternalUse.class)
+public record HookKey(@NonNull String serverURL, @NonNull String projectKey, @CheckForNull String repositorySlug) {
+
+    /**
+     * Creates a key normalising project key and repository slug.
+     *
+     * @param serverURL the Bitbucket server URL
+     * @param projectKey the project key
+     * @param repositorySlug the repository slug, {@code null} for project
+     *        hooks
+     * @return the hook key.
+     */
+    @NonNull
+    public static HookKey of(@NonNull String serverURL, @NonNull String projectKey, @CheckForNull String repositorySlug) {
+        return new HookKey(serverURL,
+                projectKey.toLowerCase(Locale.ENGLISH),
+                repositorySlug == null ? null : repositorySlug.toLowerCase(Locale.ENGLISH));
+    }
+
+    /**
+     * Returns if this key is of the given project, both project and
+     * repository hooks.
+     *
+     * @param serverURL the Bitbucket server URL
+     * @param projectKey the project key
+     * @return {@code true} if the hooks are of the given project.
+     */
+    public boolean isOf(@NonNull String serverURL, @NonNull String projectKey) {
+        return this.serverURL.equals(serverURL) && StringUtils.equalsIgnoreCase(this.projectKey, projectKey);
+    }
+
+    @Override
+    public String toString() {
+        return serverURL + ' ' + projectKey + (repositorySlug == null ? "" : '/' + repositorySlug);
+    }
+}
@@ -0,0 +1,124 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2026, Nikolas Falco
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package io.jenkins.plugins.bitbucket.webhook.moveworkforward.util;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import edu.umd.cs.findbugs.annotations.NonNull;
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import java.io.IOException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import jenkins.util.SystemProperties;
+import org.kohsuke.accmod.Restricted;
+import org.kohsuke.accmod.restrictions.NoExternalUse;
+
+/**
+ * Bounded cache of the hook configurations read from Bitbucket, as returned
+ * by the server, so that each read returns new instances that callers could
+ * modify.
+ * <p>
+ * Entries expire after {@code HookReadCache.ttlSeconds} (60 by default,
+ * {@code 0} disables the cache) and must be invalidated after any change
+ * made by Jenkins to the hooks of the same repository or project.
+ */
+@Restricted(NoExternalUse.class)
+public final class HookReadCache {
+    @SuppressFBWarnings(value = "MS_SHOULD_BE_FINAL", justification = "tunable from the script console")
+    public static long TTL_SECONDS = SystemProperties.getLong(HookReadCache.class.getName() + ".ttlSeconds", 60L);
+    private static final long MAX_SIZE = SystemProperties.getLong(HookReadCache.class.getName() + ".maxSize", 5_000L);
+
+    /**
+     * Reads the hooks from the server.
+     */
+    @FunctionalInterface
+    public interface Loader {
+        @NonNull
+        String load() throws IOException;
+    }
+
+    private record Entry(String content, long readAt) {
+        boolean isExpired() {
+            return System.nanoTime() - readAt > TimeUnit.SECONDS.toNanos(TTL_SECONDS);
+        }
+    }
+
+    private final Cache<HookKey, Entry> entries = CacheBuilder.newBuilder()
+            .maximumSize(MAX_SIZE)
+            .build();
+
+    /**
+     * Returns the cached content for the given key, reading it with the
+     * given loader when missing or expired.
+     *
+     * @param key of the hooks
+     * @param loader reads the hooks from the server
+     * @return the content returned by the server.
+     * @throws IOException if the hooks could not be read
+     */
+    @NonNull
+    public String get(@NonNull HookKey key, @NonNull Loader loader) throws IOException {
+        if (TTL_SECONDS <= 0) {
+            return loader.load();
+        }
+        Entry entry = entries.getIfPresent(key);
+        if (entry != null && entry.isExpired()) {
+            entries.asMap().remove(key, entry);
+        }
+        try {
+            return entries.get(key, () -> new Entry(loader.load(), System.nanoTime())).content();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException ioe) {
+                throw ioe;
+            }
+            throw new IOException(e.getCause());
+        }
+    }
+
+    /**
+     * Drops the cached hooks of the given key.
+     *
+     * @param key of the hooks
+     */
+    public void invalidate(@NonNull HookKey key) {
+        entries.invalidate(key);
+    }
+
+    /**
+     * Drops all the cached hooks of a project, project and repository level.
+     *
+     * @param serverURL the Bitbucket server URL
+     * @param projectKey the project key
+     */
+    public void invalidateProject(@NonNull String serverURL, @NonNull String projectKey) {
+        entries.asMap().keySet().removeIf(key -> key.isOf(serverURL, projectKey));
+    }
+
+    /**
+     * Drops all cached hooks.
+     */
+    public void invalidateAll() {
+        entries.invalidateAll();
+    }
+}
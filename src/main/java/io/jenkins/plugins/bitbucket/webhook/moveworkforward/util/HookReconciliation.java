@@ -0,0 +1,223 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2026, Nikolas Falco
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package io.jenkins.plugins.bitbucket.webhook.moveworkforward.util;
+
+import com.cloudbees.jenkins.plugins.bitbucket.BitbucketSCMSource;
+import com.cloudbees.jenkins.plugins.bitbucket.api.BitbucketRequestException;
+import com.cloudbees.jenkins.plugins.bitbucket.api.endpoint.BitbucketEndpoint;
+import com.cloudbees.jenkins.plugins.bitbucket.api.webhook.BitbucketWebhookConfiguration;
+import com.cloudbees.jenkins.plugins.bitbucket.api.webhook.BitbucketWebhookManager;
+import com.cloudbees.jenkins.plugins.bitbucket.endpoints.BitbucketEndpointConfiguration;
+import com.cloudbees.jenkins.plugins.bitbucket.hooks.BitbucketSCMSourcePushHookReceiver;
+import com.google.common.util.concurrent.RateLimiter;
+import edu.umd.cs.findbugs.annotations.CheckForNull;
+import edu.umd.cs.findbugs.annotations.NonNull;
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import hudson.Extension;
+import hudson.model.AsyncPeriodicWork;
+import hudson.model.TaskListener;
+import hudson.security.ACL;
+import hudson.security.ACLContext;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.logging.Level;
+import jenkins.scm.api.SCMSource;
+import jenkins.scm.api.SCMSourceOwner;
+import jenkins.scm.api.SCMSourceOwners;
+import jenkins.scm.api.trait.SCMSourceTrait;
+import jenkins.util.SystemProperties;
+import org.apache.commons.lang3.ObjectUtils;
+import org.apache.commons.lang3.Strings;
+import org.kohsuke.accmod.Restricted;
+import org.kohsuke.accmod.restrictions.NoExternalUse;
+
+/**
+ * Periodically verifies the hooks of the repositories registered by the
+ * Post Webhooks managers, off the indexing, so that drifts are fixed
+ * between scans and scans can skip the registration of hooks verified
+ * recently.
+ * <p>
+ * Runs every {@code HookReconciliation.recurrenceMinutes} (30 by default,
+ * {@code 0} disables it) and verifies at most
+ * {@code HookReconciliation.rate} repositories each second. The manager,
+ * its callback URL and the credentials are resolved from the endpoint
+ * configuration on each run, so that changes are applied without a
+ * restart. Once the client of a server can not be built, or is rejected
+ * by the server, the other repositories of that server are not verified
+ * until the next run.
+ */
+@Extension
+@Restricted(NoExternalUse.class)
+public class HookReconciliation extends AsyncPeriodicWork {
+    @SuppressFBWarnings(value = "MS_SHOULD_BE_FINAL", justification = "tunable from the script console")
+    public static long RECURRENCE_MINUTES = SystemProperties.getLong(HookReconciliation.class.getName() + ".recurrenceMinutes", 30L);
+    private static final double RATE = Double.parseDouble(SystemProperties.getString(HookReconciliation.class.getName() + ".rate", "2"));
+
+    /**
+     * Outcome of a reconciliation run.
+     *
+     * @param reconciled repositories verified
+     * @param failed repositories that could not be verified
+     */
+    record Outcome(int reconciled, int failed) {
+    }
+
+    private final HookClients clients;
+
+    public HookReconciliation() {
+        this(HookClients.get());
+    }
+
+    HookReconciliation(@NonNull HookClients clients) {
+        super("Bitbucket Post Webhooks reconciliation");
+        this.clients = clients;
+    }
+
+    @Override
+    public long getRecurrencePeriod() {
+        return TimeUnit.MINUTES.toMillis(Math.max(1, RECURRENCE_MINUTES));
+    }
+
+    @Override
+    protected Level getNormalLoggingLevel() {
+        return Level.FINE;
+    }
+
+    @Override
+    protected void execute(TaskListener listener) {
+        if (RECURRENCE_MINUTES <= 0) {
+            return;
+        }
+        Map<HookKey, HookRegistry.Entry> entries = HookRegistry.getEntries();
+        if (entries.isEmpty()) {
+            return;
+        }
+        Outcome outcome = reconcile(entries, findSources(), HookReconciliation::findEndpoint, listener);
+        listener.getLogger().println("Reconciled the hooks of " + outcome.reconciled() + " repositories, " + outcome.failed() + " failed");
+    }
+
+    @NonNull
+    Outcome reconcile(@NonNull Map<HookKey, HookRegistry.Entry> entries, @NonNull Map<HookKey, BitbucketSCMSource> sources,
+                      @NonNull Function<String, BitbucketEndpoint> endpoints, @NonNull TaskListener listener) {
+        long staleBefore = System.currentTimeMillis() - TimeUnit.MINUTES.toMillis(RECURRENCE_MINUTES);
+        RateLimiter limiter = RateLimiter.create(RATE);
+        Set<String> unavailable = new HashSet<>();
+        int reconciled = 0;
+        int failed = 0;
+        for (Map.Entry<HookKey, HookRegistry.Entry> entry : entries.entrySet()) {
+            HookKey key = entry.getKey();
+            if (entry.getValue().verifiedAt() > staleBefore) {
+                continue;
+            }
+            BitbucketSCMSource source = sources.get(key);
+            BitbucketEndpoint endpoint = source == null ? null : endpoints.apply(source.getServerUrl());
+            BitbucketWebhookManager manager = endpoint == null ? null : createManager(source, endpoint);
+            if (!(manager instanceof HookRegistry.Reconciler reconciler)) {
+                // the repository is no more built by Jenkins or its hooks are no more managed
+                HookRegistry.forget(key);
+                continue;
+            }
+            if (unavailable.contains(key.serverURL())) {
+                failed++;
+                continue;
+            }
+            limiter.acquire();
+            try {
+                clients.run(endpoint, source.getRepoOwner(), source.getRepository(), reconciler::reconcile);
+                reconciled++;
+            } catch (IOException | RuntimeException e) {
+                failed++;
+                if (isUnauthorized(e)) {
+                    // every repository of the server would fail the same way
+                    unavailable.add(key.serverURL());
+                    listener.error("Failed to reconcile the hooks of " + key + ", the other repositories of " + key.serverURL() + " are skipped: " + e.getMessage());
+                } else {
+                    listener.error("Failed to reconcile the hooks of " + key + ": " + e.getMessage());
+                }
+            }
+        }
+        return new Outcome(reconciled, failed);
+    }
+
+    /**
+     * Returns the manager of the hooks of the given source configured as the
+     * endpoint is now.
+     */
+    @CheckForNull
+    private static BitbucketWebhookManager createManager(@NonNull BitbucketSCMSource source, @NonNull BitbucketEndpoint endpoint) {
+        BitbucketWebhookConfiguration webhook = endpoint.getWebhook();
+        if (webhook == null || !webhook.isManageHooks()) {
+            return null;
+        }
+        BitbucketWebhookManager manager;
+        try {
+            manager = webhook.getManager().getDeclaredConstructor().newInstance();
+        } catch (ReflectiveOperationException e) {
+            return null;
+        }
+        manager.apply(webhook);
+        for (SCMSourceTrait trait : source.getTraits()) {
+            manager.apply(trait);
+        }
+        String rootURL = ObjectUtils.getFirstNonNull(webhook::getEndpointJenkinsRootURL, BitbucketWebhookConfiguration::getDefaultJenkinsRootURL);
+        if (rootURL == null) {
+            return null;
+        }
+        manager.setCallbackURL(Strings.CS.appendIfMissing(rootURL, "/") + BitbucketSCMSourcePushHookReceiver.FULL_PATH, endpoint);
+        return manager;
+    }
+
+    private static boolean isUnauthorized(@NonNull Exception e) {
+        if (e instanceof BitbucketRequestException bre) {
+            // a 403 could be specific of the repository
+            return bre.getHttpCode() == 401;
+        }
+        return e instanceof HookClients.ClientException;
+    }
+
+    @CheckForNull
+    private static BitbucketEndpoint findEndpoint(@NonNull String serverURL) {
+        return BitbucketEndpointConfiguration.get().findEndpoint(serverURL).orElse(null);
+    }
+
+    @NonNull
+    private static Map<HookKey, BitbucketSCMSource> findSources() {
+        Map<HookKey, BitbucketSCMSource> sources = new HashMap<>();
+        try (ACLContext ctx = ACL.as2(ACL.SYSTEM2)) {
+            for (SCMSourceOwner owner : SCMSourceOwners.all()) {
+                for (SCMSource source : owner.getSCMSources()) {
+                    if (source instanceof BitbucketSCMSource src) {
+                        sources.putIfAbsent(HookKey.of(src.getServerUrl(), src.getRepoOwner(), src.getRepository()), src);
+                    }
+                }
+            }
+        }
+        return sources;
+    }
+}
@@ -0,0 +1,51 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2026, Nikolas Falco
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package io.jenkins.plugins.bitbucket.webhook.moveworkforward.util;
+
+/**
+ * Limits of the hook registrations made on a Bitbucket server while
+ * repositories are indexed, implemented by the webhook configuration of the
+ * endpoint.
+ */
+public interface HookRegistrationLimits {
+    int DEFAULT_REGISTRATION_CONCURRENCY = 1;
+    int DEFAULT_REGISTRATION_RATE = 0;
+
+    /**
+     * Returns the maximum number of repositories of the server whose hooks
+     * are registered at the same time. With {@code 1} hooks are registered
+     * while the repository is indexed, otherwise in background.
+     *
+     * @return the maximum number of concurrent registrations.
+     */
+    int getRegistrationConcurrency();
+
+    /**
+     * Returns the maximum number of registrations started each second on the
+     * server, {@code 0} means unlimited.
+     *
+     * @return the registrations per second.
+     */
+    int getRegistrationRate();
+}
@@ -0,0 +1,228 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2026, Nikolas Falco
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package io.jenkins.plugins.bitbucket.webhook.moveworkforward.util;
+
+import com.cloudbees.jenkins.plugins.bitbucket.BitbucketSCMNavigator;
+import com.cloudbees.jenkins.plugins.bitbucket.BitbucketSCMSource;
+import com.cloudbees.jenkins.plugins.bitbucket.api.BitbucketAuthenticatedClient;
+import edu.umd.cs.findbugs.annotations.CheckForNull;
+import edu.umd.cs.findbugs.annotations.NonNull;
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import hudson.Extension;
+import hudson.XmlFile;
+import hudson.init.InitMilestone;
+import hudson.init.Initializer;
+import hudson.model.Saveable;
+import hudson.model.listeners.SaveableListener;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import jenkins.model.Jenkins;
+import jenkins.scm.api.SCMNavigator;
+import jenkins.scm.api.SCMNavigatorOwner;
+import jenkins.scm.api.SCMSource;
+import jenkins.scm.api.SCMSourceOwner;
+import jenkins.util.SystemProperties;
+import org.kohsuke.accmod.Restricted;
+import org.kohsuke.accmod.restrictions.NoExternalUse;
+
+/**
+ * Registry of the hooks verified by Jenkins, by repository, with the
+ * {@link HookFingerprint fingerprint} of the expected hook configuration.
+ * <p>
+ * A repository whose hook has been verified less than
+ * {@code HookRegistry.freshSeconds} ago with the same expected
+ * configuration does not need to be registered again while indexing, the
+ * {@link HookReconciliation} verifies it off the scan. Disabled when
+ * {@code 0}, the default. The repositories of a job or organization folder
+ * are forgotten when it is saved, so that a hook deleted in Bitbucket is
+ * created again by the next scan.
+ * <p>
+ * Entries are persisted in {@code JENKINS_HOME} so that a restart of
+ * Jenkins does not need to read again the hooks of every repository.
+ */
+@Restricted(NoExternalUse.class)
+public final class HookRegistry {
+    @SuppressFBWarnings(value = "MS_SHOULD_BE_FINAL", justification = "tunable from the script console")
+    public static long FRESH_SECONDS = SystemProperties.getLong(HookRegistry.class.getName() + ".freshSeconds", 0L);
+    private static final Map<HookKey, Entry> ENTRIES = new ConcurrentHashMap<>();
+    @CheckForNull
+    private static volatile HookRegistryStore store;
+
+    /**
+     * A hook manager that verifies, and fixes, the hooks of a repository
+     * comparing each field of the current hooks.
+     */
+    @FunctionalInterface
+    public interface Reconciler {
+        void reconcile(@NonNull BitbucketAuthenticatedClient client) throws IOException;
+    }
+
+    /**
+     * A verified hook.
+     *
+     * @param hookId the hook identifier, {@code null} if just created
+     * @param fingerprint of the expected hook configuration
+     * @param verifiedAt when the hook has been verified, in milliseconds
+     *        since epoch
+     */
+    public record Entry(@CheckForNull String hookId, @NonNull String fingerprint, long verifiedAt) {
+    }
+
+    private HookRegistry() {
+    }
+
+    /**
+     * Loads the hooks verified before the restart of Jenkins from
+     * {@code JENKINS_HOME/bitbucket-webhooks/hook-registry.log}.
+     */
+    @Initializer(after = InitMilestone.SYSTEM_CONFIG_LOADED)
+    public static void load() {
+        Path file = Jenkins.get().getRootDir().toPath().resolve("bitbucket-webhooks").resolve("hook-registry.log");
+        setStore(new HookRegistryStore(file));
+    }
+
+    static void setStore(@CheckForNull HookRegistryStore store) {
+        ENTRIES.clear();
+        if (store != null) {
+            ENTRIES.putAll(store.load());
+        }
+        HookRegistry.store = store;
+    }
+
+    /**
+     * Records that the hook of a repository matches the expected
+     * configuration.
+     *
+     * @param key of the repository
+     * @param hookId the hook identifier, {@code null} if unknown
+     * @param fingerprint of the expected hook configuration, nothing is
+     *        recorded if {@code null}
+     */
+    public static void verified(@NonNull HookKey key, @CheckForNull String hookId, @CheckForNull String fingerprint) {
+        if (fingerprint == null) {
+            return;
+        }
+        Entry entry = new Entry(hookId, fingerprint, System.currentTimeMillis());
+        ENTRIES.put(key, entry);
+        HookRegistryStore current = store;
+        if (current != null) {
+            current.verified(key, entry, ENTRIES);
+        }
+    }
+
+    /**
+     * Returns if the hook of a repository has been verified recently with
+     * the given expected configuration.
+     *
+     * @param key of the repository
+     * @param fingerprint of the expected hook configuration
+     * @return {@code true} if the hook does not need to be verified.
+     */
+    public static boolean isFresh(@NonNull HookKey key, @CheckForNull String fingerprint) {
+        Entry entry = ENTRIES.get(key);
+        return entry != null && fingerprint != null
+                && entry.fingerprint().equals(fingerprint)
+                && System.currentTimeMillis() - entry.verifiedAt() < TimeUnit.SECONDS.toMillis(FRESH_SECONDS);
+    }
+
+    /**
+     * Returns the verified hook of a repository.
+     *
+     * @param key of the repository
+     * @return the registry entry or {@code null} if never verified.
+     */
+    @CheckForNull
+    public static Entry getEntry(@NonNull HookKey key) {
+        return ENTRIES.get(key);
+    }
+
+    /**
+     * Returns the verified hooks.
+     *
+     * @return the registry entries by repository.
+     */
+    @NonNull
+    public static Map<HookKey, Entry> getEntries() {
+        return Map.copyOf(ENTRIES);
+    }
+
+    /**
+     * Forgets a repository, whose hooks must be verified on the next
+     * registration.
+     *
+     * @param key of the repository
+     */
+    public static void forget(@NonNull HookKey key) {
+        HookRegistryStore current = store;
+        if (ENTRIES.remove(key) != null && current != null) {
+            current.forgotten(key, ENTRIES);
+        }
+    }
+
+    /**
+     * Forgets all repositories of a project.
+     *
+     * @param serverURL the Bitbucket server URL
+     * @param projectKey the project key
+     */
+    public static void forgetProject(@NonNull String serverURL, @NonNull String projectKey) {
+        for (HookKey key : ENTRIES.keySet()) {
+            if (key.isOf(serverURL, projectKey)) {
+                forget(key);
+            }
+        }
+    }
+
+    /**
+     * Forgets the repositories of a job or of an organization folder when it
+     * is saved, after a configuration change or a scan.
+     */
+    @Extension
+    public static final class SaveableListenerImpl extends SaveableListener {
+
+        @Override
+        public void onChange(Saveable o, XmlFile file) {
+            if (ENTRIES.isEmpty()) {
+                return;
+            }
+            if (o instanceof SCMSourceOwner owner) {
+                for (SCMSource source : owner.getSCMSources()) {
+                    if (source instanceof BitbucketSCMSource src && src.getServerUrl() != null && src.getRepoOwner() != null) {
+                        forget(HookKey.of(src.getServerUrl(), src.getRepoOwner(), src.getRepository()));
+                    }
+                }
+            }
+            if (o instanceof SCMNavigatorOwner owner) {
+                for (SCMNavigator navigator : owner.getSCMNavigators()) {
+                    if (navigator instanceof BitbucketSCMNavigator nav && nav.getServerUrl() != null && nav.getRepoOwner() != null) {
+                        forgetProject(nav.getServerUrl(), nav.getRepoOwner());
+                    }
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,151 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2026, Nikolas Falco
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package io.jenkins.plugins.bitbucket.webhook.moveworkforward.util;
+
+import edu.umd.cs.findbugs.annotations.NonNull;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import org.apache.commons.lang3.StringUtils;
+
+/**
+ * Append-only file of the {@link HookRegistry} entries.
+ * <p>
+ * Each line records a verified hook as
+ * {@code V<tab>serverURL<tab>projectKey<tab>repositorySlug<tab>hookId<tab>fingerprint<tab>verifiedAt}
+ * or a forgotten repository as
+ * {@code F<tab>serverURL<tab>projectKey<tab>repositorySlug}, the last line of
+ * a repository wins. The file is compacted when loaded and when it holds
+ * many more lines than entries.
+ */
+final class HookRegistryStore {
+    private static final Logger logger = Logger.getLogger(HookRegistryStore.class.getName());
+    private static final String VERIFIED = "V";
+    private static final String FORGOTTEN = "F";
+    private static final int MIN_COMPACTION_LINES = 1_000;
+
+    private final Path file;
+    private int lines;
+
+    HookRegistryStore(@NonNull Path file) {
+        this.file = file;
+    }
+
+    /**
+     * Loads the entries from the file and compacts it.
+     *
+     * @return the entries by repository.
+     */
+    @NonNull
+    synchronized Map<HookKey, HookRegistry.Entry> load() {
+        Map<HookKey, HookRegistry.Entry> loaded = new HashMap<>();
+        try {
+            for (String line : Files.readAllLines(file, StandardCharsets.UTF_8)) {
+                parse(line, loaded);
+            }
+            compact(loaded);
+        } catch (NoSuchFileException e) {
+            // nothing registered yet
+        } catch (IOException e) {
+            logger.log(Level.WARNING, e, () -> "Failed to load the hook registry from " + file);
+        }
+        return loaded;
+    }
+
+    private static void parse(String line, Map<HookKey, HookRegistry.Entry> entries) {
+        String[] fields = line.split("\t", -1);
+        try {
+            if (VERIFIED.equals(fields[0]) && fields.length == 7) {
+                entries.put(key(fields), new HookRegistry.Entry(StringUtils.defaultIfEmpty(fields[4], null), fields[5], Long.parseLong(fields[6])));
+            } else if (FORGOTTEN.equals(fields[0]) && fields.length == 4) {
+                entries.remove(key(fields));
+            }
+        } catch (NumberFormatException e) {
+            // truncated by a crash while appending
+            logger.log(Level.FINE, "Skip invalid hook registry line {0}", line);
+        }
+    }
+
+    private static HookKey key(String[] fields) {
+        return HookKey.of(fields[1], fields[2], StringUtils.defaultIfEmpty(fields[3], null));
+    }
+
+    synchronized void verified(@NonNull HookKey key, @NonNull HookRegistry.Entry entry, @NonNull Map<HookKey, HookRegistry.Entry> all) {
+        append(format(key, entry), all);
+    }
+
+    synchronized void forgotten(@NonNull HookKey key, @NonNull Map<HookKey, HookRegistry.Entry> all) {
+        append(String.join("\t", FORGOTTEN, key.serverURL(), key.projectKey(), StringUtils.defaultString(key.repositorySlug())), all);
+    }
+
+    private void append(String line, Map<HookKey, HookRegistry.Entry> all) {
+        try {
+            Files.createDirectories(file.getParent());
+            Files.writeString(file, line + '\n', StandardCharsets.UTF_8, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+            lines++;
+            if (lines > Math.max(MIN_COMPACTION_LINES, 2 * all.size())) {
+                compact(all);
+            }
+        } catch (IOException e) {
+            logger.log(Level.WARNING, e, () -> "Failed to update the hook registry " + file);
+        }
+    }
+
+    /**
+     * Rewrites the file with only the current entries.
+     */
+    private void compact(Map<HookKey, HookRegistry.Entry> all) throws IOException {
+        Path tmp = file.resolveSibling(file.getFileName() + ".tmp");
+        Files.createDirectories(file.getParent());
+        int written = 0;
+        try (BufferedWriter writer = Files.newBufferedWriter(tmp, StandardCharsets.UTF_8)) {
+            for (Map.Entry<HookKey, HookRegistry.Entry> entry : List.copyOf(all.entrySet())) {
+                writer.write(format(entry.getKey(), entry.getValue()));
+                writer.newLine();
+                written++;
+            }
+        }
+        Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        lines = written;
+    }
+
+    private static String format(HookKey key, HookRegistry.Entry entry) {
+        return String.join("\t", VERIFIED, key.serverURL(), key.projectKey(), StringUtils.defaultString(key.repositorySlug()),
+                StringUtils.defaultString(entry.hookId()), entry.fingerprint(), Long.toString(entry.verifiedAt()));
+    }
+
+    int getLines() {
+        return lines;
+    }
+}
@@ -0,0 +1,259 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2026, Nikolas Falco
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package io.jenkins.plugins.bitbucket.webhook.moveworkforward.util;
+
+import com.cloudbees.jenkins.plugins.bitbucket.api.BitbucketAuthenticatedClient;
+import com.google.common.util.concurrent.RateLimiter;
+import edu.umd.cs.findbugs.annotations.CheckForNull;
+import edu.umd.cs.findbugs.annotations.NonNull;
+import hudson.util.DaemonThreadFactory;
+import hudson.util.NamingThreadFactory;
+import java.io.IOException;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import org.kohsuke.accmod.Restricted;
+import org.kohsuke.accmod.restrictions.NoExternalUse;
+
+/**
+ * Registers the hooks of the repositories of a Bitbucket server, in
+ * background with a bounded number of workers when the endpoint allows more
+ * than one concurrent registration, and throttled by a client side rate
+ * limiter.
+ * <p>
+ * Registrations run in background use a client built for them by
+ * {@link HookClients} with the credentials of the endpoint webhook
+ * configuration, the client of the caller is used only by registrations run
+ * in the calling thread. Their outcome is not seen by the
+ * caller, it is aggregated in a {@link RegistrationReport}, shown by the
+ * {@link RegistrationMonitor} when some of them fail, and logged when all
+ * pending registrations of the server are done.
+ */
+@Restricted(NoExternalUse.class)
+public final class RegistrationExecutor {
+    private static final Logger logger = Logger.getLogger(RegistrationExecutor.class.getName());
+    private static final int MAX_FAILURES = 100;
+    private static final Map<String, RegistrationExecutor> EXECUTORS = new ConcurrentHashMap<>();
+
+    /**
+     * Registers the hooks of a repository.
+     */
+    @FunctionalInterface
+    public interface Registration {
+        void register(@NonNull BitbucketAuthenticatedClient client) throws IOException;
+    }
+
+    /**
+     * Runs a registration in background with a client built for it.
+     */
+    @FunctionalInterface
+    interface BackgroundClients {
+        void run(@NonNull String repoOwner, @NonNull String repository, @NonNull Registration registration) throws IOException;
+    }
+
+    private interface Task {
+        void run() throws IOException;
+    }
+
+    /**
+     * Outcome of the registrations made on a server since startup.
+     *
+     * @param submitted registrations requested
+     * @param completed registrations done successfully
+     * @param failed registrations failed
+     * @param pending registrations waiting or running
+     * @param failures the last error of the repositories whose registration
+     *        failed
+     */
+    public record RegistrationReport(long submitted, long completed, long failed, int pending, Map<String, String> failures) {
+    }
+
+    private final String serverURL;
+    private final BackgroundClients clients;
+    private final ThreadPoolExecutor executor;
+    private final AtomicLong submitted = new AtomicLong();
+    private final AtomicLong completed = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private final AtomicInteger pending = new AtomicInteger();
+    private final Map<String, String> failures = Collections.synchronizedMap(new LinkedHashMap<>() {
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, String> eldest) {
+            return size() > MAX_FAILURES;
+        }
+    });
+    private volatile int concurrency = HookRegistrationLimits.DEFAULT_REGISTRATION_CONCURRENCY;
+    private volatile int rate = HookRegistrationLimits.DEFAULT_REGISTRATION_RATE;
+    @CheckForNull
+    private volatile RateLimiter rateLimiter;
+
+    RegistrationExecutor(@NonNull String serverURL) {
+        this(serverURL, (repoOwner, repository, registration) -> HookClients.get().run(serverURL, repoOwner, repository, registration::register));
+    }
+
+    RegistrationExecutor(@NonNull String serverURL, @NonNull BackgroundClients clients) {
+        this.serverURL = serverURL;
+        this.clients = clients;
+        this.executor = new ThreadPoolExecutor(concurrency, concurrency,
+                60L, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(),
+                new NamingThreadFactory(new DaemonThreadFactory(), "Bitbucket hook registration " + serverURL));
+        this.executor.allowCoreThreadTimeOut(true);
+    }
+
+    /**
+     * Returns the executor of the given server configured with the limits
+     * of its endpoint.
+     *
+     * @param serverURL the Bitbucket server URL
+     * @param limits of the endpoint
+     * @return the executor of the server.
+     */
+    @NonNull
+    public static RegistrationExecutor of(@NonNull String serverURL, @NonNull HookRegistrationLimits limits) {
+        RegistrationExecutor executor = EXECUTORS.computeIfAbsent(serverURL, RegistrationExecutor::new);
+        executor.configure(limits.getRegistrationConcurrency(), limits.getRegistrationRate());
+        return executor;
+    }
+
+    /**
+     * Returns the registration report of each server.
+     *
+     * @return the reports by server URL.
+     */
+    @NonNull
+    public static Map<String, RegistrationReport> getReports() {
+        Map<String, RegistrationReport> reports = new LinkedHashMap<>();
+        EXECUTORS.forEach((serverURL, executor) -> reports.put(serverURL, executor.getReport()));
+        return reports;
+    }
+
+    synchronized void configure(int concurrency, int rate) {
+        int workers = Math.max(1, concurrency);
+        if (workers != this.concurrency) {
+            // the core size can never exceed the maximum size
+            if (workers > executor.getMaximumPoolSize()) {
+                executor.setMaximumPoolSize(workers);
+                executor.setCorePoolSize(workers);
+            } else {
+                executor.setCorePoolSize(workers);
+                executor.setMaximumPoolSize(workers);
+            }
+            this.concurrency = workers;
+        }
+        if (rate != this.rate) {
+            this.rateLimiter = rate > 0 ? RateLimiter.create(rate) : null;
+            this.rate = rate;
+        }
+    }
+
+    /**
+     * Returns if registrations are made in background.
+     *
+     * @return {@code true} if more than one registration can run at the same
+     *         time.
+     */
+    public boolean isParallel() {
+        return concurrency > 1;
+    }
+
+    /**
+     * Registers the hooks of a repository, in background if the endpoint
+     * allows concurrent registrations, otherwise in the calling thread.
+     *
+     * @param key of the repository
+     * @param client the client of the caller, used only if the registration
+     *        runs in the calling thread
+     * @param registration to run
+     * @throws IOException if the registration runs in the calling thread and
+     *         fails
+     */
+    public void register(@NonNull HookKey key, @NonNull BitbucketAuthenticatedClient client, @NonNull Registration registration) throws IOException {
+        String description = key.projectKey() + '/' + key.repositorySlug();
+        submitted.incrementAndGet();
+        pending.incrementAndGet();
+        if (isParallel()) {
+            // the names as known by Bitbucket, the key is lower case
+            String repoOwner = client.getRepositoryOwner();
+            String repository = client.getRepositoryName();
+            executor.execute(() -> {
+                try {
+                    run(description, () -> clients.run(repoOwner, repository, registration));
+                } catch (IOException | RuntimeException e) {
+                    logger.log(Level.WARNING, e, () -> "Failed to register the hooks of " + description + " on " + serverURL);
+                }
+            });
+        } else {
+            run(description, () -> registration.register(client));
+        }
+    }
+
+    private void run(String description, Task task) throws IOException {
+        try {
+            RateLimiter limiter = rateLimiter;
+            if (limiter != null) {
+                limiter.acquire();
+            }
+            task.run();
+            completed.incrementAndGet();
+            failures.remove(description);
+        } catch (IOException | RuntimeException e) {
+            failed.incrementAndGet();
+            failures.put(description, String.valueOf(e.getMessage()));
+            throw e;
+        } finally {
+            if (pending.decrementAndGet() == 0 && isParallel()) {
+                logger.log(Level.INFO, "Hook registrations on {0} done: {1} completed, {2} failed",
+                        new Object[] { serverURL, completed.get(), failed.get() });
+            }
+        }
+    }
+
+    /**
+     * Returns the outcome of the registrations made on this server.
+     *
+     * @return the registration report.
+     */
+    @NonNull
+    public RegistrationReport getReport() {
+        Map<String, String> lastFailures;
+        synchronized (failures) {
+            lastFailures = Map.copyOf(failures);
+        }
+        return new RegistrationReport(submitted.get(), completed.get(), failed.get(), pending.get(), lastFailures);
+    }
+
+    void shutdown() {
+        executor.shutdown();
+    }
+}
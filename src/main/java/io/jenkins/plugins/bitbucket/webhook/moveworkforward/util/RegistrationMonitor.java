@@ -0,0 +1,71 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2026, Nikolas Falco
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package io.jenkins.plugins.bitbucket.webhook.moveworkforward.util;
+
+import edu.umd.cs.findbugs.annotations.NonNull;
+import hudson.Extension;
+import hudson.model.AdministrativeMonitor;
+import io.jenkins.plugins.bitbucket.webhook.Messages;
+import io.jenkins.plugins.bitbucket.webhook.moveworkforward.util.RegistrationExecutor.RegistrationReport;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import org.kohsuke.accmod.Restricted;
+import org.kohsuke.accmod.restrictions.NoExternalUse;
+
+/**
+ * Warns administrators when the registration of the hooks of some
+ * repositories has failed, registrations run in background are not reported
+ * to the job that has requested them.
+ */
+@Restricted(NoExternalUse.class)
+@Extension
+public class RegistrationMonitor extends AdministrativeMonitor {
+
+    @Override
+    public String getDisplayName() {
+        return Messages.RegistrationMonitor_displayName();
+    }
+
+    @Override
+    public boolean isActivated() {
+        return !getFailedRegistrations().isEmpty();
+    }
+
+    /**
+     * Returns the registration report of the servers where the registration
+     * of some repositories is failed and has not succeeded since.
+     *
+     * @return the reports by server URL.
+     */
+    @NonNull
+    public Map<String, RegistrationReport> getFailedRegistrations() {
+        Map<String, RegistrationReport> result = new LinkedHashMap<>();
+        RegistrationExecutor.getReports().forEach((serverURL, report) -> {
+            if (!report.failures().isEmpty()) {
+                result.put(serverURL, report);
+            }
+        });
+        return result;
+    }
+}
@@ -0,0 +1,165 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2026, Nikolas Falco
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package io.jenkins.plugins.bitbucket.webhook.moveworkforward.util;
+
+import com.cloudbees.jenkins.plugins.bitbucket.api.BitbucketRequestException;
+import edu.umd.cs.findbugs.annotations.NonNull;
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import jenkins.util.SystemProperties;
+import org.kohsuke.accmod.Restricted;
+import org.kohsuke.accmod.restrictions.NoExternalUse;
+
+/**
+ * Runs the REST calls made to a Bitbucket server to manage hooks, retrying
+ * transient failures with a jittered exponential backoff and guarded by the
+ * {@link CircuitBreaker} of the server.
+ * <p>
+ * Connection failures and the HTTP statuses 429, 502, 503 and 504 are
+ * retried up to {@code ResilientCalls.maxRetries} times. Other client errors
+ * are returned to the caller at once and do not count as server failures.
+ * <p>
+ * A call that is not idempotent, like the POST that creates a hook, could
+ * have been applied by the server even if it has failed, so it is retried
+ * only when the server has refused it with 429 or 503.
+ */
+@Restricted(NoExternalUse.class)
+public final class ResilientCalls {
+    private static final Logger logger = Logger.getLogger(ResilientCalls.class.getName());
+    @SuppressFBWarnings(value = "MS_SHOULD_BE_FINAL", justification = "tunable from the script console")
+    public static int MAX_RETRIES = SystemProperties.getInteger(ResilientCalls.class.getName() + ".maxRetries", 3);
+    @SuppressFBWarnings(value = "MS_SHOULD_BE_FINAL", justification = "tunable from the script console")
+    public static long BASE_DELAY_MILLIS = SystemProperties.getLong(ResilientCalls.class.getName() + ".baseDelayMillis", 500L);
+    @SuppressFBWarnings(value = "MS_SHOULD_BE_FINAL", justification = "tunable from the script console")
+    public static long MAX_DELAY_MILLIS = SystemProperties.getLong(ResilientCalls.class.getName() + ".maxDelayMillis", 10_000L);
+
+    /**
+     * A REST call.
+     */
+    @FunctionalInterface
+    public interface Call<T> {
+        T call() throws IOException;
+    }
+
+    private ResilientCalls() {
+    }
+
+    /**
+     * Makes the given idempotent call to the server.
+     *
+     * @param <T> the call result type
+     * @param breaker of the server
+     * @param description of the call, used for logging
+     * @param call to make
+     * @return the result of the call.
+     * @throws IOException if the circuit is open or the call still fails
+     *         after the retries
+     */
+    public static <T> T call(@NonNull CircuitBreaker breaker, @NonNull String description, @NonNull Call<T> call) throws IOException {
+        return call(breaker, description, true, call);
+    }
+
+    /**
+     * Makes the given call to the server, that is not idempotent, retrying
+     * it only if refused by the server.
+     *
+     * @param <T> the call result type
+     * @param breaker of the server
+     * @param description of the call, used for logging
+     * @param call to make
+     * @return the result of the call.
+     * @throws IOException if the circuit is open or the call still fails
+     *         after the retries
+     */
+    public static <T> T post(@NonNull CircuitBreaker breaker, @NonNull String description, @NonNull Call<T> call) throws IOException {
+        return call(breaker, description, false, call);
+    }
+
+    private static <T> T call(CircuitBreaker breaker, String description, boolean idempotent, Call<T> call) throws IOException {
+        for (int attempt = 0;; attempt++) {
+            breaker.acquire();
+            try {
+                T result = call.call();
+                breaker.onSuccess();
+                return result;
+            } catch (IOException | RuntimeException e) {
+                if (!isServerFailure(e)) {
+                    breaker.onSuccess();
+                    throw e;
+                }
+                breaker.onFailure();
+                if (attempt >= MAX_RETRIES || !isRetryable(e, idempotent)) {
+                    throw e;
+                }
+                long delay = backoff(attempt, e);
+                logger.log(Level.FINE, "Retry {0} in {1}ms after: {2}", new Object[] { description, delay, e.getMessage() });
+                breaker.onRetry();
+                sleep(delay);
+            }
+        }
+    }
+
+    private static boolean isServerFailure(Exception e) {
+        if (e instanceof BitbucketRequestException bre) {
+            return bre.getHttpCode() == 429 || bre.getHttpCode() >= 500;
+        }
+        // connection failures
+        return e instanceof IOException;
+    }
+
+    private static boolean isRetryable(Exception e, boolean idempotent) {
+        if (e instanceof BitbucketRequestException bre) {
+            int code = bre.getHttpCode();
+            if (!idempotent) {
+                // the request has not been processed
+                return code == 429 || code == 503;
+            }
+            return code == 429 || code == 502 || code == 503 || code == 504;
+        }
+        return idempotent && e instanceof IOException;
+    }
+
+    static long backoff(int attempt, Exception e) {
+        long ceiling = Math.min(MAX_DELAY_MILLIS, BASE_DELAY_MILLIS << Math.min(attempt, 20));
+        if (e instanceof BitbucketRequestException bre && bre.getHttpCode() == 429) {
+            // throttled, do not come back before the base delay
+            return Math.min(MAX_DELAY_MILLIS, BASE_DELAY_MILLIS + ThreadLocalRandom.current().nextLong(ceiling + 1));
+        }
+        // full jitter spreads the retries of concurrent registrations
+        return ThreadLocalRandom.current().nextLong(ceiling + 1);
+    }
+
+    private static void sleep(long millis) throws IOException {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw (IOException) new InterruptedIOException("Interrupted while waiting to retry").initCause(e);
+        }
+    }
+}
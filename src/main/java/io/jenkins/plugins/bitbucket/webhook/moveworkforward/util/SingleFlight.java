@@ -0,0 +1,141 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2026, Nikolas Falco
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package io.jenkins.plugins.bitbucket.webhook.moveworkforward.util;
+
+import edu.umd.cs.findbugs.annotations.CheckForNull;
+import edu.umd.cs.findbugs.annotations.NonNull;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import org.kohsuke.accmod.Restricted;
+import org.kohsuke.accmod.restrictions.NoExternalUse;
+
+/**
+ * Runs at most one action at a time for each key, concurrent callers for the
+ * same key wait for the action in flight and share its outcome instead of
+ * running their own.
+ * <p>
+ * An action can be tagged with what it is going to apply, like the
+ * fingerprint of the expected hook configuration. A caller that has waited
+ * for an action with a different tag runs its own action afterwards.
+ *
+ * @param <K> the key type
+ */
+@Restricted(NoExternalUse.class)
+public final class SingleFlight<K> {
+
+    /**
+     * An action that talks to the server.
+     */
+    @FunctionalInterface
+    public interface Action {
+        void run() throws IOException;
+    }
+
+    private record Flight(@CheckForNull Object tag, CompletableFuture<Void> outcome) {
+    }
+
+    private final Map<K, Flight> flights = new ConcurrentHashMap<>();
+
+    /**
+     * Runs the given action unless an action for the same key is already in
+     * flight, in which case waits for it to complete.
+     *
+     * @param key of the action
+     * @param action to run
+     * @return {@code true} if the action has been run by this caller,
+     *         {@code false} if the outcome of a concurrent action is shared.
+     * @throws IOException if the action, run or shared, failed
+     */
+    public boolean run(@NonNull K key, @NonNull Action action) throws IOException {
+        return run(key, null, action);
+    }
+
+    /**
+     * Runs the given action unless an action for the same key and tag is
+     * already in flight, in which case waits for it to complete. An action
+     * in flight with another tag is waited for and then the given action is
+     * run.
+     *
+     * @param key of the action
+     * @param tag of what the action applies
+     * @param action to run
+     * @return {@code true} if the action has been run by this caller,
+     *         {@code false} if the outcome of a concurrent action is shared.
+     * @throws IOException if the action, run or shared, failed
+     */
+    public boolean run(@NonNull K key, @CheckForNull Object tag, @NonNull Action action) throws IOException {
+        Flight flight = new Flight(tag, new CompletableFuture<>());
+        Flight inFlight;
+        while ((inFlight = flights.putIfAbsent(key, flight)) != null) {
+            boolean shared = Objects.equals(inFlight.tag(), tag);
+            await(key, inFlight.outcome(), shared);
+            if (shared) {
+                return false;
+            }
+            // the action in flight has applied something else
+        }
+        CompletableFuture<Void> outcome = flight.outcome();
+        try {
+            action.run();
+            outcome.complete(null);
+        } catch (IOException | RuntimeException e) {
+            outcome.completeExceptionally(e);
+            throw e;
+        } finally {
+            if (!outcome.isDone()) {
+                // never leave the waiters hanging
+                outcome.completeExceptionally(new IOException("Aborted " + key));
+            }
+            flights.remove(key, flight);
+        }
+        return true;
+    }
+
+    private static void await(Object key, CompletableFuture<Void> outcome, boolean shared) throws IOException {
+        try {
+            outcome.get();
+        } catch (ExecutionException e) {
+            if (shared) {
+                throw new IOException("Concurrent action for " + key + " failed", e.getCause());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw (IOException) new InterruptedIOException("Interrupted while waiting for " + key).initCause(e);
+        }
+    }
+
+    /**
+     * Returns the number of actions in flight.
+     *
+     * @return the number of keys with an action in flight.
+     */
+    public int getInFlight() {
+        return flights.size();
+    }
+}
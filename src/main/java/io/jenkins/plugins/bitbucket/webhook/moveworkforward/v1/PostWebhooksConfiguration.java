@@ -36,6 +36,8 @@ import hudson.Extension;
 import hudson.util.FormValidation;
 import hudson.util.ListBoxModel;
 import io.jenkins.plugins.bitbucket.webhook.Messages;
+import io.jenkins.plugins.bitbucket.webhook.moveworkforward.processor.WebhookProcessingLimits;
+import io.jenkins.plugins.bitbucket.webhook.moveworkforward.util.HookRegistrationLimits;
 import java.net.MalformedURLException;
 import java.net.URL;
 import jenkins.model.Jenkins;
@@ -52,7 +54,7 @@ import static hudson.Util.fixEmptyAndTrim;
 
 // https://help.moveworkforward.com/BPW/atlassian-bitbucket-post-webhook-api
 // https://help.moveworkforward.com/BPW/how-to-get-configurations-using-post-webhooks-for-
-public class PostWebhooksConfiguration implements BitbucketWebhookConfiguration {
+public class PostWebhooksConfiguration implements BitbucketWebhookConfiguration, WebhookProcessingLimits, HookRegistrationLimits {
 
     /**
      * {@code true} if and only if Jenkins is supposed to auto-manage hooks for
@@ -76,6 +78,32 @@ public class PostWebhooksConfiguration implements BitbucketWebhookConfiguration
      */
     private String endpointJenkinsRootURL;
 
+    /**
+     * Maximum number of webhooks of this endpoint processed at the same time
+     * in each lane.
+     */
+    private int maxConcurrentEvents = DEFAULT_MAX_CONCURRENT_EVENTS;
+
+    /**
+     * Maximum number of webhooks of this endpoint waiting to be processed in
+     * each lane. {@code 0} is a valid value, so a missing value in the
+     * configurations saved before the limits were introduced is recognised
+     * as {@code null}.
+     */
+    private Integer maxQueuedEvents = DEFAULT_MAX_QUEUED_EVENTS;
+
+    /**
+     * Maximum number of repositories of this endpoint whose hooks are
+     * registered at the same time.
+     */
+    private int registrationConcurrency = DEFAULT_REGISTRATION_CONCURRENCY;
+
+    /**
+     * Maximum number of hook registrations started each second on this
+     * endpoint, {@code 0} for unlimited.
+     */
+    private int registrationRate = DEFAULT_REGISTRATION_RATE;
+
     @DataBoundConstructor
     public PostWebhooksConfiguration(boolean manageHooks, @CheckForNull String credentialsId) {
         this.manageHooks = manageHooks && StringUtils.isNotBlank(credentialsId);
@@ -115,6 +143,68 @@ public class PostWebhooksConfiguration implements BitbucketWebhookConfiguration
         this.endpointJenkinsRootURL = fixEmptyAndTrim(endpointJenkinsRootURL);
     }
 
+    @Override
+    public int getMaxConcurrentEvents() {
+        return maxConcurrentEvents;
+    }
+
+    @DataBoundSetter
+    public void setMaxConcurrentEvents(int maxConcurrentEvents) {
+        this.maxConcurrentEvents = maxConcurrentEvents > 0 ? maxConcurrentEvents : DEFAULT_MAX_CONCURRENT_EVENTS;
+    }
+
+    @Override
+    public int getMaxQueuedEvents() {
+        return maxQueuedEvents != null ? maxQueuedEvents : DEFAULT_MAX_QUEUED_EVENTS;
+    }
+
+    @DataBoundSetter
+    public void setMaxQueuedEvents(int maxQueuedEvents) {
+        this.maxQueuedEvents = maxQueuedEvents >= 0 ? maxQueuedEvents : DEFAULT_MAX_QUEUED_EVENTS;
+    }
+
+    @Override
+    public int getRegistrationConcurrency() {
+        return registrationConcurrency;
+    }
+
+    @DataBoundSetter
+    public void setRegistrationConcurrency(int registrationConcurrency) {
+        this.registrationConcurrency = registrationConcurrency > 0 ? registrationConcurrency : DEFAULT_REGISTRATION_CONCURRENCY;
+    }
+
+    @Override
+    public int getRegistrationRate() {
+        return registrationRate;
+    }
+
+    @DataBoundSetter
+    public void setRegistrationRate(int registrationRate) {
+        this.registrationRate = Math.max(0, registrationRate);
+    }
+
+    /**
+     * Configurations saved before the limits were introduced do not have
+     * them.
+     *
+     * @return this instance.
+     */
+    protected Object readResolve() {
+        if (maxConcurrentEvents <= 0) {
+            maxConcurrentEvents = DEFAULT_MAX_CONCURRENT_EVENTS;
+        }
+        if (maxQueuedEvents == null || maxQueuedEvents < 0) {
+            maxQueuedEvents = DEFAULT_MAX_QUEUED_EVENTS;
+        }
+        if (registrationConcurrency <= 0) {
+            registrationConcurrency = DEFAULT_REGISTRATION_CONCURRENCY;
+        }
+        if (registrationRate < 0) {
+            registrationRate = DEFAULT_REGISTRATION_RATE;
+        }
+        return this;
+    }
+
     @Override
     public String getDisplayName() {
         return Messages.PostWebhooksImplementation_displayName();
@@ -35,6 +35,16 @@ import hudson.Extension;
 import hudson.Util;
 import io.jenkins.plugins.bitbucket.webhook.JsonParser;
 import io.jenkins.plugins.bitbucket.webhook.moveworkforward.processor.PostWebhooksEventType;
+import io.jenkins.plugins.bitbucket.webhook.moveworkforward.util.CircuitBreaker;
+import io.jenkins.plugins.bitbucket.webhook.moveworkforward.util.DuplicateHookSweeper;
+import io.jenkins.plugins.bitbucket.webhook.moveworkforward.util.HookFingerprint;
+import io.jenkins.plugins.bitbucket.webhook.moveworkforward.util.HookKey;
+import io.jenkins.plugins.bitbucket.webhook.moveworkforward.util.HookReadCache;
+import io.jenkins.plugins.bitbucket.webhook.moveworkforward.util.HookReconciliation;
+import io.jenkins.plugins.bitbucket.webhook.moveworkforward.util.HookRegistry;
+import io.jenkins.plugins.bitbucket.webhook.moveworkforward.util.RegistrationExecutor;
+import io.jenkins.plugins.bitbucket.webhook.moveworkforward.util.ResilientCalls;
+import io.jenkins.plugins.bitbucket.webhook.moveworkforward.util.SingleFlight;
 import io.jenkins.plugins.bitbucket.webhook.moveworkforward.v1.trait.PostWebhooksConfigurationTrait;
 import java.io.IOException;
 import java.util.ArrayList;
@@ -52,9 +62,12 @@ import org.apache.commons.lang3.ObjectUtils;
 import static hudson.Util.fixEmptyAndTrim;
 
 @Extension
-public class PostWebhooksManager implements BitbucketWebhookManager {
+public class PostWebhooksManager implements BitbucketWebhookManager, HookRegistry.Reconciler {
     private static final String WEBHOOK_API = "/rest/webhook/1.0/projects/{owner}/repos/{repo}/configurations{/id}";
     private static final Logger logger = Logger.getLogger(PostWebhooksManager.class.getName());
+    // managers are created for each registration, the cache is shared
+    static final HookReadCache READ_CACHE = new HookReadCache();
+    private static final SingleFlight<HookKey> REGISTRATIONS = new SingleFlight<>();
 
     // See https://help.moveworkforward.com/BPW/how-to-manage-configurations-using-post-webhooks-f#HowtomanageconfigurationsusingPostWebhooksforBitbucketAPIs?-Possibleeventtypes
     private static final List<PostWebhooksEventType> PLUGIN_SERVER_EVENTS = List.of(
@@ -73,6 +86,7 @@ public class PostWebhooksManager implements BitbucketWebhookManager {
 
     private PostWebhooksConfiguration configuration;
     private String callbackURL;
+    private String serverURL;
     private String committersToIgnore;
     private String branchesToIgnore;
     private boolean skipCI;
@@ -98,6 +112,7 @@ public class PostWebhooksManager implements BitbucketWebhookManager {
 
     @Override
     public void setCallbackURL(@NonNull String callbackURL, @NonNull BitbucketEndpoint endpoint) {
+        this.serverURL = endpoint.getServerURL();
         this.callbackURL = UriTemplate.buildFromTemplate(callbackURL)
                 .query("server_url")
                 .build()
@@ -115,7 +130,10 @@ public class PostWebhooksManager implements BitbucketWebhookManager {
                 .set("repo", client.getRepositoryName())
                 .expand();
 
-        PostWebhookPayload[] hooks = JsonParser.toJava(client.get(url), PostWebhookPayload[].class);
+        String content = serverURL == null
+                ? client.get(url)
+                : READ_CACHE.get(HookKey.of(serverURL, client.getRepositoryOwner(), client.getRepositoryName()), () -> call("GET " + url, () -> client.get(url)));
+        PostWebhookPayload[] hooks = JsonParser.toJava(content, PostWebhookPayload[].class);
         return Stream.of(hooks)
                 .map(BitbucketWebHook.class::cast)
                 .filter(hook -> hook.getUrl().startsWith(endpointJenkinsRootURL))
@@ -123,7 +141,7 @@ public class PostWebhooksManager implements BitbucketWebhookManager {
     }
 
     @NonNull
-    private PostWebhookPayload buildPayload() {
+    private PostWebhookPayload buildPayload() throws IOException {
         PostWebhookPayload hook = new PostWebhookPayload();
         hook.setActive(true);
         hook.setDescription("Jenkins hook");
@@ -132,6 +150,7 @@ public class PostWebhooksManager implements BitbucketWebhookManager {
         hook.setCommittersToIgnore(committersToIgnore);
         hook.setBranchesToIgnore(branchesToIgnore);
         hook.setSkipCI(skipCI);
+        hook.setDescription(HookFingerprint.describe(hook.getDescription(), HookFingerprint.of(hook)));
         return hook;
     }
 
@@ -140,11 +159,35 @@ public class PostWebhooksManager implements BitbucketWebhookManager {
                 .set("owner", client.getRepositoryOwner())
                 .set("repo", client.getRepositoryName())
                 .expand();
-        client.post(url, payload);
+        try {
+            post("POST " + url, () -> {
+                client.post(url, payload);
+                return null;
+            });
+        } finally {
+            // a failed POST could have created the hook anyway
+            invalidateCache(client);
+        }
     }
 
-    private boolean shouldUpdate(@NonNull PostWebhookPayload current, @NonNull PostWebhookPayload expected) {
+    /**
+     * Updates the current hook as expected, comparing each field only if
+     * thorough or the current hook has not been fingerprinted with the
+     * expected configuration. A disabled hook is always re-activated.
+     */
+    private boolean shouldUpdate(@NonNull PostWebhookPayload current, @NonNull PostWebhookPayload expected, boolean thorough) {
         boolean update = false;
+        // a hook disabled in Bitbucket keeps the fingerprint of its configuration
+        if (!current.isActive()) {
+            current.setActive(true);
+            logger.info(() -> "Re-activate webhook " + current.getUuid());
+            update = true;
+        }
+        String fingerprint = HookFingerprint.parse(expected.getDescription());
+        if (!thorough && fingerprint != null && fingerprint.equals(HookFingerprint.parse(current.getDescription()))) {
+            // created or updated by Jenkins with the same configuration
+            return update;
+        }
         if (!Objects.equal(fixEmptyAndTrim(current.getCommittersToIgnore()), expected.getCommittersToIgnore())) {
             logger.info(() -> "Update committersToIgnore to " + expected.getBranchesToIgnore());
             current.setCommittersToIgnore(expected.getCommittersToIgnore());
@@ -161,12 +204,6 @@ public class PostWebhooksManager implements BitbucketWebhookManager {
             update = true;
         }
 
-        if (!current.isActive()) {
-            current.setActive(true);
-            logger.info(() -> "Re-activate webhook " + current.getUuid());
-            update = true;
-        }
-
         if (!Objects.equal(current.getUrl(), expected.getUrl())) {
             current.setUrl(expected.getUrl());
             logger.info(() -> "Update webhook " + current.getUuid() + " callback URL");
@@ -182,6 +219,9 @@ public class PostWebhooksManager implements BitbucketWebhookManager {
             logger.info(() -> "Update webhook " + current.getUuid() + " events because was missing: " + CollectionUtils.subtract(expectedEvents, events));
             update = true;
         }
+        if (update) {
+            current.setDescription(expected.getDescription());
+        }
         return update;
     }
 
@@ -192,7 +232,11 @@ public class PostWebhooksManager implements BitbucketWebhookManager {
                 .set("repo", client.getRepositoryName())
                 .set("id", payload.getUuid())
                 .expand();
-        client.put(url, payload);
+        call("PUT " + url, () -> {
+            client.put(url, payload);
+            return null;
+        });
+        invalidateCache(client);
     }
 
     @Override
@@ -202,23 +246,120 @@ public class PostWebhooksManager implements BitbucketWebhookManager {
                 .set("repo", client.getRepositoryName())
                 .set("id", webhookId)
                 .expand();
-        client.delete(url);
+        call("DELETE " + url, () -> {
+            client.delete(url);
+            return null;
+        });
+        invalidateCache(client);
+    }
+
+    /**
+     * Makes a REST call, with retries and guarded by the circuit breaker of
+     * the server once it is known.
+     */
+    private <T> T call(@NonNull String description, @NonNull ResilientCalls.Call<T> call) throws IOException {
+        if (serverURL == null) {
+            return call.call();
+        }
+        return ResilientCalls.call(CircuitBreaker.of(serverURL), description, call);
+    }
+
+    /**
+     * Makes a REST call that is not idempotent, retried only if refused by
+     * the server.
+     */
+    private <T> T post(@NonNull String description, @NonNull ResilientCalls.Call<T> call) throws IOException {
+        if (serverURL == null) {
+            return call.call();
+        }
+        return ResilientCalls.post(CircuitBreaker.of(serverURL), description, call);
+    }
+
+    private void invalidateCache(@NonNull BitbucketAuthenticatedClient client) {
+        if (serverURL != null) {
+            READ_CACHE.invalidate(HookKey.of(serverURL, client.getRepositoryOwner(), client.getRepositoryName()));
+        }
+    }
+
+    /**
+     * Verifies the hooks of the client repository comparing each field, run
+     * off the indexing by the {@link HookReconciliation}.
+     */
+    @Override
+    public void reconcile(@NonNull BitbucketAuthenticatedClient client) throws IOException {
+        registerHooks(client, true);
     }
 
     @Override
     public void register(@NonNull BitbucketAuthenticatedClient client) throws IOException {
-        PostWebhookPayload existingHook = (PostWebhookPayload) read(client)
-                .stream()
+        if (serverURL == null || configuration == null) {
+            registerHooks(client, false);
+            return;
+        }
+        HookKey key = HookKey.of(serverURL, client.getRepositoryOwner(), client.getRepositoryName());
+        if (HookRegistry.isFresh(key, HookFingerprint.parse(buildPayload().getDescription()))) {
+            logger.log(Level.FINE, "Hook of {0} verified recently, skip registration", key);
+            return;
+        }
+        // a registration run in background gets its own client
+        RegistrationExecutor.of(serverURL, configuration)
+                .register(key, client, registrationClient -> registerHooks(registrationClient, false));
+    }
+
+    /**
+     * Registers the hooks of the client repository, concurrent registrations
+     * of the same repository with the same expected configuration share a
+     * single sequence of REST calls.
+     */
+    private void registerHooks(@NonNull BitbucketAuthenticatedClient client, boolean thorough) throws IOException {
+        if (serverURL == null) {
+            reconcile(client, thorough);
+            return;
+        }
+        HookKey key = HookKey.of(serverURL, client.getRepositoryOwner(), client.getRepositoryName());
+        // a caller expecting another configuration can not share the registration in flight
+        String fingerprint = HookFingerprint.parse(buildPayload().getDescription());
+        if (!REGISTRATIONS.run(key, fingerprint, () -> reconcile(client, thorough))) {
+            logger.log(Level.FINE, "Hook of {0} registered by a concurrent caller", key);
+        }
+    }
+
+    private void reconcile(@NonNull BitbucketAuthenticatedClient client, boolean thorough) throws IOException {
+        List<PostWebhookPayload> hooks = read(client).stream()
+                .map(PostWebhookPayload.class::cast)
+                .toList();
+        // prefer the hook with the current callback URL over those left by older ones
+        PostWebhookPayload existingHook = hooks.stream()
+                .filter(hook -> Objects.equal(hook.getUrl(), callbackURL))
                 .findFirst()
-                .orElse(null);
+                .orElse(hooks.isEmpty() ? null : hooks.get(0));
 
+        PostWebhookPayload payload = buildPayload();
         if (existingHook == null) {
             logger.log(Level.INFO, "Registering cloud hook for {0}/{1}", new Object[] { client.getRepositoryOwner(), client.getRepositoryName() });
-            register(buildPayload(), client);
-        } else if (shouldUpdate(existingHook, buildPayload())) {
+            register(payload, client);
+        } else if (shouldUpdate(existingHook, payload, thorough)) {
             logger.log(Level.INFO, "Updating cloud hook for {0}/{1}", new Object[] { client.getRepositoryOwner(), client.getRepositoryName() });
             update(existingHook, client);
         }
+        if (serverURL == null) {
+            return;
+        }
+        HookKey key = HookKey.of(serverURL, client.getRepositoryOwner(), client.getRepositoryName());
+        // a repository with duplicates left must be verified again
+        if (existingHook == null || removeDuplicates(key, existingHook, hooks, client)) {
+            HookRegistry.verified(key, existingHook == null ? null : existingHook.getUuid(), HookFingerprint.parse(payload.getDescription()));
+        }
+    }
+
+    private boolean removeDuplicates(@NonNull HookKey key, @NonNull PostWebhookPayload kept, @NonNull List<PostWebhookPayload> hooks, @NonNull BitbucketAuthenticatedClient client) throws IOException {
+        List<String> duplicates = hooks.stream()
+                .filter(hook -> hook != kept)
+                // hooks of other Jenkins endpoints are not duplicates
+                .filter(hook -> DuplicateHookSweeper.isSameCallback(hook.getUrl(), callbackURL))
+                .map(PostWebhookPayload::getUuid)
+                .toList();
+        return DuplicateHookSweeper.sweep(key, kept.getUuid(), duplicates, hookId -> remove(hookId, client));
     }
 
 }
@@ -350,6 +350,10 @@ public class PostWebhook2Payload implements BitbucketWebHook {
         return level;
     }
 
+    public void setLevel(String level) {
+        this.level = level;
+    }
+
     public boolean isEnableAuthentication() {
         return enableAuthentication;
     }
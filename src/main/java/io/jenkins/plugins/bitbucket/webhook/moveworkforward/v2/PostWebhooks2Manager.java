@@ -30,11 +30,22 @@ import com.cloudbees.jenkins.plugins.bitbucket.api.webhook.BitbucketWebhookConfi
 import com.cloudbees.jenkins.plugins.bitbucket.api.webhook.BitbucketWebhookManager;
 import com.damnhandy.uri.template.UriTemplate;
 import com.google.common.base.Objects;
+import edu.umd.cs.findbugs.annotations.CheckForNull;
 import edu.umd.cs.findbugs.annotations.NonNull;
 import hudson.Extension;
 import hudson.Util;
 import io.jenkins.plugins.bitbucket.webhook.JsonParser;
 import io.jenkins.plugins.bitbucket.webhook.moveworkforward.processor.PostWebhooksEventType;
+import io.jenkins.plugins.bitbucket.webhook.moveworkforward.util.CircuitBreaker;
+import io.jenkins.plugins.bitbucket.webhook.moveworkforward.util.DuplicateHookSweeper;
+import io.jenkins.plugins.bitbucket.webhook.moveworkforward.util.HookFingerprint;
+import io.jenkins.plugins.bitbucket.webhook.moveworkforward.util.HookKey;
+import io.jenkins.plugins.bitbucket.webhook.moveworkforward.util.HookReadCache;
+import io.jenkins.plugins.bitbucket.webhook.moveworkforward.util.HookReconciliation;
+import io.jenkins.plugins.bitbucket.webhook.moveworkforward.util.HookRegistry;
+import io.jenkins.plugins.bitbucket.webhook.moveworkforward.util.RegistrationExecutor;
+import io.jenkins.plugins.bitbucket.webhook.moveworkforward.util.ResilientCalls;
+import io.jenkins.plugins.bitbucket.webhook.moveworkforward.util.SingleFlight;
 import io.jenkins.plugins.bitbucket.webhook.moveworkforward.v2.PostWebhook2Payload.Destination;
 import io.jenkins.plugins.bitbucket.webhook.moveworkforward.v2.PostWebhook2Payload.Source;
 import io.jenkins.plugins.bitbucket.webhook.moveworkforward.v2.trait.PostWebhooks2ConfigurationTrait;
@@ -58,9 +69,12 @@ import org.apache.commons.lang3.StringUtils;
 // See https://help.moveworkforward.com/BPW/how-to-update-settings-using-rest-apis#HowtoupdatesettingsusingRESTAPIs-RESTAPI
 // See https://help.moveworkforward.com/BPW/how-to-manage-configurations-using-post-webhooks-f#HowtomanageconfigurationsusingPostWebhooksforBitbucketAPIs?-Version2
 @Extension
-public class PostWebhooks2Manager implements BitbucketWebhookManager {
+public class PostWebhooks2Manager implements BitbucketWebhookManager, HookRegistry.Reconciler {
     private static final String WEBHOOK_API = "/rest/webhook/2.0/configurations{/id}{?projectKey,repositorySlug}";
     private static final Logger logger = Logger.getLogger(PostWebhooks2Manager.class.getName());
+    // managers are created for each registration, the cache is shared
+    static final HookReadCache READ_CACHE = new HookReadCache();
+    private static final SingleFlight<HookKey> REGISTRATIONS = new SingleFlight<>();
 
     // See https://help.moveworkforward.com/BPW/how-to-manage-configurations-using-post-webhooks-f#HowtomanageconfigurationsusingPostWebhooksforBitbucketAPIs?-Possibleeventtypes
     private static final List<PostWebhooksEventType> PLUGIN_SERVER_EVENTS = Collections.unmodifiableList(List.of(
@@ -78,7 +92,9 @@ public class PostWebhooks2Manager implements BitbucketWebhookManager {
             PostWebhooksEventType.TAG_CREATED));
 
     private PostWebhooks2Configuration configuration;
+    private HookLevel level = HookLevel.REPOSITORY;
     private String callbackURL;
+    private String serverURL;
     private String[] ignoredSources;
     private String[] ignoredUsers;
     private String[] ignoredGroups;
@@ -106,10 +122,12 @@ public class PostWebhooks2Manager implements BitbucketWebhookManager {
     @Override
     public void apply(BitbucketWebhookConfiguration configuration) {
         this.configuration = (PostWebhooks2Configuration) configuration;
+        this.level = this.configuration.getHookLevel();
     }
 
     @Override
     public void setCallbackURL(@NonNull String callbackURL, @NonNull BitbucketEndpoint endpoint) {
+        this.serverURL = endpoint.getServerURL();
         this.callbackURL = UriTemplate.buildFromTemplate(callbackURL)
                 .query("server_url")
                 .build()
@@ -117,25 +135,171 @@ public class PostWebhooks2Manager implements BitbucketWebhookManager {
                 .expand();;
     }
 
+    /**
+     * {@inheritDoc}
+     * <p>
+     * When hooks are registered at project level, only the repository level
+     * hooks of the repository are returned, the project hook is shared by
+     * all repositories of the project and must not be removed when a
+     * repository is no more used by Jenkins.
+     */
     @Override
     @NonNull
     public Collection<BitbucketWebHook> read(@NonNull BitbucketAuthenticatedClient client) throws IOException {
-        String endpointJenkinsRootURL = ObjectUtils.getFirstNonNull(() -> configuration.getEndpointJenkinsRootURL(), () -> BitbucketWebhookConfiguration.getDefaultJenkinsRootURL());
+        if (level == HookLevel.PROJECT) {
+            return readProject(client).stream()
+                    .filter(hook -> isRepositoryHook(hook, client.getRepositoryName()))
+                    .map(BitbucketWebHook.class::cast)
+                    .toList();
+        }
+
+        List<PostWebhook2Payload> inventory = readInventory(client, client.getRepositoryName());
+        if (inventory != null) {
+            return inventory.stream()
+                    .filter(this::isJenkinsHook)
+                    .map(BitbucketWebHook.class::cast)
+                    .toList();
+        }
 
         String url = UriTemplate.fromTemplate(WEBHOOK_API)
                 .set("projectKey", client.getRepositoryOwner())
                 .set("repositorySlug", client.getRepositoryName())
                 .expand();
 
-        PostWebhook2Payload[] hooks = JsonParser.toJava(client.get(url), PostWebhook2Payload[].class);
+        PostWebhook2Payload[] hooks = JsonParser.toJava(get(client, url, client.getRepositoryName()), PostWebhook2Payload[].class);
         return Stream.of(hooks)
+                .filter(this::isJenkinsHook)
                 .map(BitbucketWebHook.class::cast)
-                .filter(hook -> hook.getUrl().startsWith(endpointJenkinsRootURL))
                 .toList();
     }
 
+    /**
+     * Reads all the Jenkins hooks of the project of the client repository,
+     * at project and at repository level.
+     * <p>
+     * The listing of a project without repository slug returns the project
+     * level configurations together with the repository level ones of all
+     * its repositories, a single request is enough.
+     */
+    @NonNull
+    private List<PostWebhook2Payload> readProject(@NonNull BitbucketAuthenticatedClient client) throws IOException {
+        List<PostWebhook2Payload> projectHooks = readInventory(client, null);
+        List<PostWebhook2Payload> repositoryHooks = readInventory(client, client.getRepositoryName());
+        if (projectHooks != null && repositoryHooks != null) {
+            projectHooks.addAll(repositoryHooks);
+            return projectHooks.stream()
+                    .filter(this::isJenkinsHook)
+                    .toList();
+        }
+
+        String url = UriTemplate.fromTemplate(WEBHOOK_API)
+                .set("projectKey", client.getRepositoryOwner())
+                .expand();
+
+        PostWebhook2Payload[] hooks = JsonParser.toJava(get(client, url, null), PostWebhook2Payload[].class);
+        return Stream.of(hooks)
+                .filter(this::isJenkinsHook)
+                .toList();
+    }
+
+    /**
+     * Returns the hooks of the given repository from the project snapshot.
+     *
+     * @return the hooks or {@code null} if snapshots are disabled or the
+     *         repository must be read from the server.
+     */
+    @CheckForNull
+    private List<PostWebhook2Payload> readInventory(@NonNull BitbucketAuthenticatedClient client, @CheckForNull String repositorySlug) throws IOException {
+        if (!ProjectInventory.isEnabled() || serverURL == null) {
+            return null;
+        }
+        String url = UriTemplate.fromTemplate(WEBHOOK_API)
+                .set("projectKey", client.getRepositoryOwner())
+                .expand();
+        return ProjectInventory.get(serverURL, client.getRepositoryOwner(), () -> call("GET " + url, () -> client.get(url)))
+                .getHooks(repositorySlug);
+    }
+
+    /**
+     * Reads the hooks of a repository, or of the project when the repository
+     * slug is {@code null}, through the read cache.
+     */
     @NonNull
-    private PostWebhook2Payload buildPayload(String owner, String repoSlug) {
+    private String get(@NonNull BitbucketAuthenticatedClient client, @NonNull String url, @CheckForNull String repositorySlug) throws IOException {
+        if (serverURL == null) {
+            return client.get(url);
+        }
+        return READ_CACHE.get(HookKey.of(serverURL, client.getRepositoryOwner(), repositorySlug), () -> call("GET " + url, () -> client.get(url)));
+    }
+
+    /**
+     * Makes a REST call, with retries and guarded by the circuit breaker of
+     * the server once it is known.
+     */
+    private <T> T call(@NonNull String description, @NonNull ResilientCalls.Call<T> call) throws IOException {
+        if (serverURL == null) {
+            return call.call();
+        }
+        return ResilientCalls.call(CircuitBreaker.of(serverURL), description, call);
+    }
+
+    /**
+     * Makes a REST call that is not idempotent, retried only if refused by
+     * the server.
+     */
+    private <T> T post(@NonNull String description, @NonNull ResilientCalls.Call<T> call) throws IOException {
+        if (serverURL == null) {
+            return call.call();
+        }
+        return ResilientCalls.post(CircuitBreaker.of(serverURL), description, call);
+    }
+
+    /**
+     * Forgets the cached hooks of the given repository, or of the whole
+     * project when the repository slug is {@code null}, after Jenkins has
+     * changed them.
+     */
+    private void invalidate(@NonNull BitbucketAuthenticatedClient client, @CheckForNull String repositorySlug) {
+        if (serverURL == null) {
+            return;
+        }
+        String projectKey = client.getRepositoryOwner();
+        if (repositorySlug == null) {
+            // the project hook is read together with every repository
+            READ_CACHE.invalidateProject(serverURL, projectKey);
+            ProjectInventory.invalidate(serverURL, projectKey);
+        } else {
+            READ_CACHE.invalidate(HookKey.of(serverURL, projectKey, repositorySlug));
+            READ_CACHE.invalidate(HookKey.of(serverURL, projectKey, null));
+            ProjectInventory.forget(serverURL, projectKey, repositorySlug);
+        }
+    }
+
+    private boolean isJenkinsHook(@NonNull PostWebhook2Payload hook) {
+        String endpointJenkinsRootURL = ObjectUtils.getFirstNonNull(() -> configuration.getEndpointJenkinsRootURL(), () -> BitbucketWebhookConfiguration.getDefaultJenkinsRootURL());
+        return hook.getUrl() != null && hook.getUrl().startsWith(endpointJenkinsRootURL);
+    }
+
+    private static boolean isProjectHook(@NonNull PostWebhook2Payload hook) {
+        return HookLevel.PROJECT.name().equals(hook.getLevel());
+    }
+
+    private static boolean isRepositoryHook(@NonNull PostWebhook2Payload hook, String repositorySlug) {
+        return !isProjectHook(hook) && StringUtils.equalsIgnoreCase(hook.getRepositorySlug(), repositorySlug);
+    }
+
+    /**
+     * Builds the expected hook, at project level when the repository slug is
+     * {@code null}.
+     * <p>
+     * The project hook is shared by all repositories of the project, the
+     * settings of the source trait (ignored branches, users and groups,
+     * certificate and URL validation, skip CI) belong to a single repository
+     * and apply only to repository level hooks. The project hook is built from
+     * the endpoint settings only, with the defaults of the trait.
+     */
+    @NonNull
+    private PostWebhook2Payload buildPayload(String owner, @CheckForNull String repoSlug) throws IOException {
         PostWebhook2Payload hook = new PostWebhook2Payload();
         hook.setActive(true);
         hook.setDescription("Jenkins hook");
@@ -143,6 +307,16 @@ public class PostWebhooks2Manager implements BitbucketWebhookManager {
         hook.setEventTypes(PLUGIN_SERVER_EVENTS);
         hook.setProjectKey(owner);
         hook.setRepositorySlug(repoSlug);
+        if (repoSlug == null) {
+            hook.setLevel(HookLevel.PROJECT.name());
+        } else {
+            applyTraitSettings(hook, owner, repoSlug);
+        }
+        hook.setDescription(HookFingerprint.describe(hook.getDescription(), HookFingerprint.of(hook)));
+        return hook;
+    }
+
+    private void applyTraitSettings(@NonNull PostWebhook2Payload hook, String owner, @NonNull String repoSlug) {
         if (ArrayUtils.isNotEmpty(ignoredSources)) {
             Source[] sources = Stream.of(ignoredSources)
                     .filter(StringUtils::isNotEmpty)
@@ -159,17 +333,40 @@ public class PostWebhooks2Manager implements BitbucketWebhookManager {
         hook.setIgnoreCerts(ignoreCerts);
         hook.setIgnoreURLValidation(ignoreURLValidation);
         hook.setSkipCI(skipCI);
-        return hook;
     }
 
     private void register(@NonNull PostWebhook2Payload payload, @NonNull BitbucketAuthenticatedClient client) throws IOException {
         String url = UriTemplate.fromTemplate(WEBHOOK_API)
                 .expand();
-        client.post(url, payload);
+        try {
+            post("POST " + url, () -> {
+                client.post(url, payload);
+                return null;
+            });
+        } finally {
+            // a failed POST could have created the hook anyway
+            invalidate(client, payload.getRepositorySlug());
+        }
     }
 
-    private boolean shouldUpdate(@NonNull PostWebhook2Payload current, @NonNull PostWebhook2Payload expected) {
+    /**
+     * Updates the current hook as expected, comparing each field only if
+     * thorough or the current hook has not been fingerprinted with the
+     * expected configuration. A disabled hook is always re-activated.
+     */
+    private boolean shouldUpdate(@NonNull PostWebhook2Payload current, @NonNull PostWebhook2Payload expected, boolean thorough) {
         boolean update = false;
+        // a hook disabled in Bitbucket keeps the fingerprint of its configuration
+        if (!current.isActive()) {
+            current.setActive(true);
+            logger.info(() -> "Re-activate webhook " + current.getUuid());
+            update = true;
+        }
+        String fingerprint = HookFingerprint.parse(expected.getDescription());
+        if (!thorough && fingerprint != null && fingerprint.equals(HookFingerprint.parse(current.getDescription()))) {
+            // created or updated by Jenkins with the same configuration
+            return update;
+        }
         if (!Arrays.deepEquals(current.getIgnoredUsers(), expected.getIgnoredUsers())) {
             current.setIgnoredUsers(expected.getIgnoredUsers());
             logger.info(() -> "Update ignoredUsers");
@@ -201,12 +398,6 @@ public class PostWebhooks2Manager implements BitbucketWebhookManager {
             update = true;
         }
 
-        if (!current.isActive()) {
-            current.setActive(true);
-            logger.info(() -> "Re-activate webhook " + current.getUuid());
-            update = true;
-        }
-
         if (!Objects.equal(current.getUrl(), expected.getUrl())) {
             logger.info(() -> "Update webhook " + current.getUuid() + " callback URL");
             current.setDestinations(new Destination[] { new Destination(expected.getUrl()) });
@@ -222,6 +413,9 @@ public class PostWebhooks2Manager implements BitbucketWebhookManager {
             logger.info(() -> "Update webhook " + current.getUuid() + " events because was missing: " + CollectionUtils.subtract(expectedEvents, events));
             update = true;
         }
+        if (update) {
+            current.setDescription(expected.getDescription());
+        }
         return update;
     }
 
@@ -230,7 +424,11 @@ public class PostWebhooks2Manager implements BitbucketWebhookManager {
                 .fromTemplate(WEBHOOK_API)
                 .set("id", payload.getUuid())
                 .expand();
-        client.put(url, payload);
+        call("PUT " + url, () -> {
+            client.put(url, payload);
+            return null;
+        });
+        invalidate(client, HookLevel.PROJECT.name().equals(payload.getLevel()) ? null : payload.getRepositorySlug());
     }
 
     @Override
@@ -238,24 +436,180 @@ public class PostWebhooks2Manager implements BitbucketWebhookManager {
         String url = UriTemplate.fromTemplate(WEBHOOK_API)
                 .set("id", webhookId)
                 .expand();
-        client.delete(url);
+        call("DELETE " + url, () -> {
+            client.delete(url);
+            return null;
+        });
+        invalidate(client, client.getRepositoryName());
+    }
+
+    /**
+     * Verifies the hooks of the client repository comparing each field, run
+     * off the indexing by the {@link HookReconciliation}.
+     */
+    @Override
+    public void reconcile(@NonNull BitbucketAuthenticatedClient client) throws IOException {
+        registerHooks(client, true);
     }
 
     @Override
     public void register(@NonNull BitbucketAuthenticatedClient client) throws IOException {
-        PostWebhook2Payload existingHook = (PostWebhook2Payload) read(client)
-                .stream()
-                .findFirst()
-                .orElse(null);
+        if (serverURL == null || configuration == null) {
+            registerHooks(client, false);
+            return;
+        }
+        HookKey key = HookKey.of(serverURL, client.getRepositoryOwner(), client.getRepositoryName());
+        String repositorySlug = level == HookLevel.PROJECT ? null : client.getRepositoryName();
+        if (HookRegistry.isFresh(key, HookFingerprint.parse(buildPayload(client.getRepositoryOwner(), repositorySlug).getDescription()))) {
+            logger.log(Level.FINE, "Hook of {0} verified recently, skip registration", key);
+            return;
+        }
+        // a registration run in background gets its own client
+        RegistrationExecutor.of(serverURL, configuration)
+                .register(key, client, registrationClient -> registerHooks(registrationClient, false));
+    }
+
+    /**
+     * Registers the hooks of the client repository, concurrent registrations
+     * of the same repository with the same expected configuration share a
+     * single sequence of REST calls. Registrations at project level are run
+     * one at a time for each project, so that only one of them creates the
+     * project hook.
+     */
+    private void registerHooks(@NonNull BitbucketAuthenticatedClient client, boolean thorough) throws IOException {
+        if (serverURL == null) {
+            reconcile(client, thorough);
+            return;
+        }
+        if (level == HookLevel.PROJECT) {
+            HookKey key = HookKey.of(serverURL, client.getRepositoryOwner(), null);
+            // the project hook is shared but each repository has its own hooks to remove
+            while (!REGISTRATIONS.run(key, () -> reconcile(client, thorough))) {
+                logger.log(Level.FINE, "Waited for a concurrent registration of {0}", key);
+            }
+            return;
+        }
+        HookKey key = HookKey.of(serverURL, client.getRepositoryOwner(), client.getRepositoryName());
+        // a caller expecting another configuration can not share the registration in flight
+        String fingerprint = HookFingerprint.parse(buildPayload(client.getRepositoryOwner(), client.getRepositoryName()).getDescription());
+        if (!REGISTRATIONS.run(key, fingerprint, () -> reconcile(client, thorough))) {
+            logger.log(Level.FINE, "Hook of {0} registered by a concurrent caller", key);
+        }
+    }
+
+    private void reconcile(@NonNull BitbucketAuthenticatedClient client, boolean thorough) throws IOException {
+        if (level == HookLevel.PROJECT) {
+            registerProject(client, thorough);
+            return;
+        }
+
+        List<PostWebhook2Payload> hooks = read(client).stream()
+                .map(PostWebhook2Payload.class::cast)
+                .toList();
+        PostWebhook2Payload existingHook = selectHook(hooks);
 
         PostWebhook2Payload payload = buildPayload(client.getRepositoryOwner(), client.getRepositoryName());
         if (existingHook == null) {
             logger.log(Level.INFO, "Registering cloud hook for {0}/{1}", new Object[] { client.getRepositoryOwner(), client.getRepositoryName() });
             register(payload, client);
-        } else if (shouldUpdate(existingHook, payload)) {
+        } else if (shouldUpdate(existingHook, payload, thorough)) {
             logger.log(Level.INFO, "Updating cloud hook for {0}/{1}", new Object[] { client.getRepositoryOwner(), client.getRepositoryName() });
             update(existingHook, client);
         }
+        boolean clean = existingHook == null || removeDuplicates(existingHook, hooks, client, client.getRepositoryName());
+        verified(client, existingHook, payload, clean);
+    }
+
+    /**
+     * Records in the registry that the hooks of the client repository are
+     * as expected, unless duplicates are left that must be verified again.
+     */
+    private void verified(@NonNull BitbucketAuthenticatedClient client, @CheckForNull PostWebhook2Payload hook,
+                          @NonNull PostWebhook2Payload expected, boolean clean) {
+        if (serverURL != null && clean) {
+            HookKey key = HookKey.of(serverURL, client.getRepositoryOwner(), client.getRepositoryName());
+            HookRegistry.verified(key, hook == null ? null : hook.getUuid(), HookFingerprint.parse(expected.getDescription()));
+        }
+    }
+
+    /**
+     * Returns the hook to keep, preferring the hook with the current callback
+     * URL over those left by older ones.
+     */
+    @CheckForNull
+    private PostWebhook2Payload selectHook(@NonNull List<PostWebhook2Payload> hooks) {
+        return hooks.stream()
+                .filter(hook -> Objects.equal(hook.getUrl(), callbackURL))
+                .findFirst()
+                .orElse(hooks.isEmpty() ? null : hooks.get(0));
+    }
+
+    private boolean removeDuplicates(@NonNull PostWebhook2Payload kept, @NonNull List<PostWebhook2Payload> hooks,
+                                     @NonNull BitbucketAuthenticatedClient client, @CheckForNull String repositorySlug) throws IOException {
+        if (serverURL == null) {
+            return true;
+        }
+        List<String> duplicates = hooks.stream()
+                .filter(hook -> hook != kept)
+                // hooks of other Jenkins endpoints are not duplicates
+                .filter(hook -> DuplicateHookSweeper.isSameCallback(hook.getUrl(), callbackURL))
+                .map(PostWebhook2Payload::getUuid)
+                .toList();
+        HookKey key = HookKey.of(serverURL, client.getRepositoryOwner(), repositorySlug);
+        try {
+            return DuplicateHookSweeper.sweep(key, kept.getUuid(), duplicates, hookId -> remove(hookId, client));
+        } finally {
+            if (repositorySlug == null && !duplicates.isEmpty()) {
+                invalidate(client, null);
+            }
+        }
+    }
+
+    /**
+     * Ensures the project of the client repository has a project level hook
+     * and removes the repository level hooks of the repository registered
+     * by this plugin, that would deliver the same events twice.
+     */
+    private void registerProject(@NonNull BitbucketAuthenticatedClient client, boolean thorough) throws IOException {
+        List<PostWebhook2Payload> hooks = readProject(client);
+        List<PostWebhook2Payload> projectHooks = hooks.stream()
+                .filter(PostWebhooks2Manager::isProjectHook)
+                .toList();
+        PostWebhook2Payload existingHook = selectHook(projectHooks);
+
+        PostWebhook2Payload payload = buildPayload(client.getRepositoryOwner(), null);
+        if (existingHook == null) {
+            logger.log(Level.INFO, "Registering project hook for {0}", client.getRepositoryOwner());
+            register(payload, client);
+        } else if (shouldUpdate(existingHook, payload, thorough)) {
+            logger.log(Level.INFO, "Updating project hook for {0}", client.getRepositoryOwner());
+            update(existingHook, client);
+        }
+
+        boolean clean = removeReplaced(existingHook, hooks, client);
+        clean &= existingHook == null || removeDuplicates(existingHook, projectHooks, client, null);
+        verified(client, existingHook, payload, clean);
+    }
+
+    /**
+     * Removes the repository level hooks of the client repository calling
+     * the callback of this plugin, replaced by the project hook. As any other
+     * duplicate they are only reported unless the sweeper removes them.
+     */
+    private boolean removeReplaced(@CheckForNull PostWebhook2Payload projectHook, @NonNull List<PostWebhook2Payload> hooks,
+                                   @NonNull BitbucketAuthenticatedClient client) throws IOException {
+        if (serverURL == null) {
+            return true;
+        }
+        List<String> replaced = hooks.stream()
+                .filter(hook -> isRepositoryHook(hook, client.getRepositoryName()))
+                // hooks of other Jenkins endpoints or tools are not replaced
+                .filter(hook -> DuplicateHookSweeper.isSameCallback(hook.getUrl(), callbackURL))
+                .map(PostWebhook2Payload::getUuid)
+                .toList();
+        HookKey key = HookKey.of(serverURL, client.getRepositoryOwner(), client.getRepositoryName());
+        String kept = projectHook == null ? "project hook" : projectHook.getUuid();
+        return DuplicateHookSweeper.sweep(key, kept, replaced, hookId -> remove(hookId, client));
     }
 
 }
@@ -0,0 +1,234 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2026, Nikolas Falco
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package io.jenkins.plugins.bitbucket.webhook.moveworkforward.v2;
+
+import com.cloudbees.jenkins.plugins.bitbucket.BitbucketSCMNavigator;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import edu.umd.cs.findbugs.annotations.CheckForNull;
+import edu.umd.cs.findbugs.annotations.NonNull;
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import hudson.Extension;
+import hudson.XmlFile;
+import hudson.model.Saveable;
+import hudson.model.listeners.SaveableListener;
+import io.jenkins.plugins.bitbucket.webhook.JsonParser;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import jenkins.scm.api.SCMNavigator;
+import jenkins.scm.api.SCMNavigatorOwner;
+import jenkins.util.SystemProperties;
+import org.apache.commons.lang3.StringUtils;
+import org.kohsuke.accmod.Restricted;
+import org.kohsuke.accmod.restrictions.NoExternalUse;
+
+/**
+ * Snapshots of all the Post Webhooks 2.0 configurations of a project, read
+ * with a single request and indexed by repository slug. The listing of a
+ * project returns its project level configurations and the repository level
+ * ones of all its repositories.
+ * <p>
+ * During the scan of an organization folder the manager is asked to read
+ * and register the hooks of every repository of the project, with a
+ * snapshot these reads are served from memory. Snapshots expire after
+ * {@code ProjectInventory.ttlSeconds} (disabled when {@code 0}, the
+ * default) and are invalidated when the organization folder is saved. The
+ * repositories whose hooks are changed by Jenkins are forgotten and read
+ * again from the server, a project is read again when its project level
+ * hook is changed.
+ */
+@Restricted(NoExternalUse.class)
+public final class ProjectInventory {
+    @SuppressFBWarnings(value = "MS_SHOULD_BE_FINAL", justification = "tunable from the script console")
+    static long TTL_SECONDS = SystemProperties.getLong(ProjectInventory.class.getName() + ".ttlSeconds", 0L);
+    private static final String PROJECT_LEVEL = "";
+
+    private static final Cache<String, Snapshot> SNAPSHOTS = CacheBuilder.newBuilder()
+            .maximumSize(100)
+            .build();
+
+    /**
+     * Loads all the configurations of a project.
+     */
+    @FunctionalInterface
+    interface Loader {
+        @NonNull
+        String load() throws IOException;
+    }
+
+    /**
+     * The configurations of a project, as JSON grouped by repository slug.
+     */
+    static final class Snapshot {
+        private final Map<String, String> hooks;
+        private final Set<String> forgotten = Collections.synchronizedSet(new HashSet<>());
+        private final long loadedAt = System.nanoTime();
+
+        private Snapshot(Map<String, String> hooks) {
+            this.hooks = hooks;
+        }
+
+        private boolean isExpired() {
+            return System.nanoTime() - loadedAt > TimeUnit.SECONDS.toNanos(TTL_SECONDS);
+        }
+
+        /**
+         * Returns the configurations of the given repository.
+         *
+         * @param repositorySlug the repository, {@code null} for project
+         *        level configurations
+         * @return the configurations or {@code null} if the repository has
+         *         been changed after the snapshot.
+         * @throws IOException in case of malformed content
+         */
+        @CheckForNull
+        List<PostWebhook2Payload> getHooks(@CheckForNull String repositorySlug) throws IOException {
+            String key = key(repositorySlug);
+            if (forgotten.contains(key)) {
+                return null;
+            }
+            String json = hooks.get(key);
+            return json == null ? new ArrayList<>() : new ArrayList<>(List.of(JsonParser.toJava(json, PostWebhook2Payload[].class)));
+        }
+
+        void forget(@CheckForNull String repositorySlug) {
+            forgotten.add(key(repositorySlug));
+        }
+
+        private static String key(String repositorySlug) {
+            return StringUtils.defaultString(repositorySlug, PROJECT_LEVEL).toLowerCase(Locale.ENGLISH);
+        }
+    }
+
+    private ProjectInventory() {
+    }
+
+    static boolean isEnabled() {
+        return TTL_SECONDS > 0;
+    }
+
+    /**
+     * Returns the snapshot of the given project, loading it if missing or
+     * expired.
+     *
+     * @param serverURL the Bitbucket server URL
+     * @param projectKey the project key
+     * @param loader reads all configurations of the project
+     * @return the snapshot of the project.
+     * @throws IOException if the configurations could not be loaded
+     */
+    @NonNull
+    static Snapshot get(@NonNull String serverURL, @NonNull String projectKey, @NonNull Loader loader) throws IOException {
+        String key = cacheKey(serverURL, projectKey);
+        Snapshot snapshot = SNAPSHOTS.getIfPresent(key);
+        if (snapshot != null && snapshot.isExpired()) {
+            SNAPSHOTS.asMap().remove(key, snapshot);
+        }
+        try {
+            return SNAPSHOTS.get(key, () -> load(loader));
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException ioe) {
+                throw ioe;
+            }
+            throw new IOException(e.getCause());
+        }
+    }
+
+    private static Snapshot load(Loader loader) throws IOException {
+        Map<String, List<PostWebhook2Payload>> bySlug = new HashMap<>();
+        for (PostWebhook2Payload hook : JsonParser.toJava(loader.load(), PostWebhook2Payload[].class)) {
+            String slug = HookLevel.PROJECT.name().equals(hook.getLevel()) ? null : hook.getRepositorySlug();
+            bySlug.computeIfAbsent(Snapshot.key(slug), k -> new ArrayList<>()).add(hook);
+        }
+        Map<String, String> hooks = new HashMap<>();
+        for (Map.Entry<String, List<PostWebhook2Payload>> entry : bySlug.entrySet()) {
+            hooks.put(entry.getKey(), JsonParser.toString(entry.getValue()));
+        }
+        return new Snapshot(hooks);
+    }
+
+    /**
+     * Marks the hooks of a repository in the snapshot of its project as
+     * changed, they will be read from the server.
+     *
+     * @param serverURL the Bitbucket server URL
+     * @param projectKey the project key
+     * @param repositorySlug the repository
+     */
+    static void forget(@NonNull String serverURL, @NonNull String projectKey, @NonNull String repositorySlug) {
+        Snapshot snapshot = SNAPSHOTS.getIfPresent(cacheKey(serverURL, projectKey));
+        if (snapshot != null) {
+            snapshot.forget(repositorySlug);
+        }
+    }
+
+    /**
+     * Drops the snapshot of a project.
+     *
+     * @param serverURL the Bitbucket server URL
+     * @param projectKey the project key
+     */
+    public static void invalidate(@NonNull String serverURL, @NonNull String projectKey) {
+        SNAPSHOTS.invalidate(cacheKey(serverURL, projectKey));
+    }
+
+    /**
+     * Drops all snapshots.
+     */
+    public static void invalidateAll() {
+        SNAPSHOTS.invalidateAll();
+    }
+
+    private static String cacheKey(String serverURL, String projectKey) {
+        return serverURL + '|' + projectKey.toLowerCase(Locale.ENGLISH);
+    }
+
+    /**
+     * Drops the snapshots of the projects of an organization folder when it
+     * is saved, after a scan or a configuration change.
+     */
+    @Extension
+    public static final class SaveableListenerImpl extends SaveableListener {
+
+        @Override
+        public void onChange(Saveable o, XmlFile file) {
+            if (o instanceof SCMNavigatorOwner owner) {
+                for (SCMNavigator navigator : owner.getSCMNavigators()) {
+                    if (navigator instanceof BitbucketSCMNavigator nav && nav.getServerUrl() != null && nav.getRepoOwner() != null) {
+                        invalidate(nav.getServerUrl(), nav.getRepoOwner());
+                    }
+                }
+            }
+        }
+    }
+}
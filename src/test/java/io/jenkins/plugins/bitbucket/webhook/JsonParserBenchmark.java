@@ -0,0 +1,96 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2026, Nikolas Falco
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package io.jenkins.plugins.bitbucket.webhook;
+
+import com.cloudbees.jenkins.plugins.bitbucket.server.events.BitbucketServerPullRequestEvent;
+import com.cloudbees.jenkins.plugins.bitbucket.server.events.BitbucketServerPushEvent;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+import org.apache.commons.io.IOUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Compares the {@link String} and the UTF-8 byte decoding paths of
+ * {@link JsonParser} on the webhook payloads used by the processor tests.
+ * The {@code decodeWithMapper} benchmark is the baseline of a mapper that
+ * resolves the type on each call.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class JsonParserBenchmark {
+    private static final String FIXTURES = "/io/jenkins/plugins/bitbucket/webhook/moveworkforward/processor/";
+
+    @Param({ "commit_update.json", "branch_created.json", "pullrequest_created.json", "pullrequest_rescoped.json" })
+    public String fixture;
+
+    private Class<?> type;
+    private String payload;
+    private byte[] rawPayload;
+    private JsonMapper mapper;
+
+    @Setup
+    public void setup() throws IOException {
+        mapper = JsonMapper.builder()
+                .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false)
+                .build();
+        type = fixture.startsWith("pullrequest") ? BitbucketServerPullRequestEvent.class : BitbucketServerPushEvent.class;
+        try (InputStream stream = JsonParserBenchmark.class.getResourceAsStream(FIXTURES + fixture)) {
+            rawPayload = IOUtils.toByteArray(stream);
+        }
+        payload = new String(rawPayload, StandardCharsets.UTF_8);
+    }
+
+    @Benchmark
+    public Object decodeWithMapper() throws IOException {
+        return mapper.readValue(payload, type);
+    }
+
+    @Benchmark
+    public Object decodeString() throws IOException {
+        return JsonParser.toJava(payload, type);
+    }
+
+    @Benchmark
+    public Object decodeBytesToString() throws IOException {
+        // what happens today when the body is received as bytes
+        return JsonParser.toJava(new String(rawPayload, StandardCharsets.UTF_8), type);
+    }
+
+    @Benchmark
+    public Object decodeBytes() throws IOException {
+        return JsonParser.toJava(rawPayload, type);
+    }
+}
@@ -0,0 +1,98 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2026, Nikolas Falco
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package io.jenkins.plugins.bitbucket.webhook.moveworkforward.processor;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import org.apache.commons.io.IOUtils;
+import org.apache.commons.lang3.StringUtils;
+
+/**
+ * Payloads used by the JMH benchmarks, the test fixtures or synthetic
+ * payloads of arbitrary size.
+ */
+final class BenchmarkPayloads {
+    static final String SERVER_URL = "http://localhost:7990";
+    static final String SYNTHETIC_PUSH = "synthetic_push_";
+    static final String SYNTHETIC_PULL_REQUEST = "synthetic_pullrequest_";
+
+    private BenchmarkPayloads() {
+    }
+
+    /**
+     * Returns the payload for the given name. Names are test fixtures, or
+     * {@code synthetic_push_<changes>} for a push with the given number of
+     * changes, or {@code synthetic_pullrequest_<size>} for a pull request with
+     * a description of the given number of characters.
+     *
+     * @param name the payload name
+     * @return the payload content
+     */
+    static String load(String name) {
+        if (name.startsWith(SYNTHETIC_PUSH)) {
+            return push("PROJECT_1", "rep_1", Integer.parseInt(name.substring(SYNTHETIC_PUSH.length())));
+        } else if (name.startsWith(SYNTHETIC_PULL_REQUEST)) {
+            return pullRequest(Integer.parseInt(name.substring(SYNTHETIC_PULL_REQUEST.length())));
+        }
+        try (InputStream stream = BenchmarkPayloads.class.getResourceAsStream(name)) {
+            return IOUtils.toString(stream, StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    static boolean isPullRequest(String name) {
+        return name.startsWith("pullrequest") || name.startsWith(SYNTHETIC_PULL_REQUEST);
+    }
+
+    static String push(String projectKey, String slug, int changes) {
+        StringBuilder sb = new StringBuilder(512 + changes * 400);
+        sb.append("{\"actor\":{\"username\":\"admin\",\"displayName\":\"Administrator\"},");
+        sb.append("\"repository\":{\"scmId\":\"git\",\"project\":{\"key\":\"").append(projectKey).append("\",\"name\":\"").append(projectKey).append("\"},");
+        sb.append("\"slug\":\"").append(slug).append("\",");
+        sb.append("\"links\":{\"self\":[{\"href\":\"").append(SERVER_URL).append("/projects/").append(projectKey).append("/repos/").append(slug).append("/browse\"}]},");
+        sb.append("\"public\":false,\"ownerName\":\"").append(projectKey).append("\",\"fullName\":\"").append(projectKey).append('/').append(slug).append("\"},");
+        sb.append("\"push\":{\"changes\":[");
+        for (int i = 0; i < changes; i++) {
+            if (i > 0) {
+                sb.append(',');
+            }
+            String hash = StringUtils.leftPad(Integer.toHexString(i), 40, 'a');
+            String oldHash = StringUtils.leftPad(Integer.toHexString(i), 40, 'b');
+            sb.append("{\"created\":false,\"closed\":false,");
+            sb.append("\"new\":{\"type\":\"branch\",\"name\":\"feature/branch-").append(i).append("\",\"target\":{\"type\":\"commit\",\"hash\":\"").append(hash).append("\",\"commitMessage\":\"change ").append(i).append("\"}},");
+            sb.append("\"old\":{\"type\":\"branch\",\"name\":\"feature/branch-").append(i).append("\",\"target\":{\"type\":\"commit\",\"hash\":\"").append(oldHash).append("\",\"commitMessage\":\"change ").append(i).append("\"}}}");
+        }
+        sb.append("]}}");
+        return sb.toString();
+    }
+
+    static String pullRequest(int descriptionSize) {
+        String description = StringUtils.repeat("Lorem ipsum dolor sit amet. ", descriptionSize / 28 + 1).substring(0, descriptionSize);
+        return load("pullrequest_created.json")
+                .replace("\"title\": \"Test webhooks\",", "\"title\": \"Test webhooks\", \"description\": \"" + description + "\",");
+    }
+}
@@ -144,6 +144,47 @@ class PostWebhooksPullRequestProcessorTest {
         assertThat(scmEvent.getType()).isEqualTo(Type.UPDATED);
     }
 
+    @Test
+    void test_redelivery_is_skipped() throws Exception {
+        DeliveryDeduplicator.TTL_SECONDS = 30;
+        try {
+            setup();
+        } finally {
+            DeliveryDeduplicator.TTL_SECONDS = 0;
+        }
+        String payload = loadResource("pullrequest_updated.json");
+        sut.process(HookEventType.PULL_REQUEST_UPDATED.getKey(), payload, Collections.emptyMap(), mock(BitbucketEndpoint.class));
+        assertThat(scmEvent).isNotNull();
+
+        scmEvent = null;
+        sut.process(HookEventType.PULL_REQUEST_UPDATED.getKey(), payload, Collections.emptyMap(), mock(BitbucketEndpoint.class));
+        assertThat(scmEvent).isNull();
+
+        // same pull request but different event type
+        sut.process(HookEventType.PULL_REQUEST_MERGED.getKey(), loadResource("pullrequest_merged.json"), Collections.emptyMap(), mock(BitbucketEndpoint.class));
+        assertThat(scmEvent).isNotNull();
+
+        // a real repeat after another event of the same pull request
+        scmEvent = null;
+        sut.process(HookEventType.PULL_REQUEST_UPDATED.getKey(), payload, Collections.emptyMap(), mock(BitbucketEndpoint.class));
+        assertThat(scmEvent).isNotNull();
+
+        assertThat(sut.deduplicator.getHits()).isEqualTo(1);
+        assertThat(sut.deduplicator.getMisses()).isEqualTo(3);
+    }
+
+    @Test
+    void test_redelivery_is_processed_by_default() throws Exception {
+        String payload = loadResource("pullrequest_updated.json");
+        sut.process(HookEventType.PULL_REQUEST_UPDATED.getKey(), payload, Collections.emptyMap(), mock(BitbucketEndpoint.class));
+        assertThat(scmEvent).isNotNull();
+
+        scmEvent = null;
+        sut.process(HookEventType.PULL_REQUEST_UPDATED.getKey(), payload, Collections.emptyMap(), mock(BitbucketEndpoint.class));
+        assertThat(scmEvent).isNotNull();
+        assertThat(sut.deduplicator.getHits() + sut.deduplicator.getMisses()).isZero();
+    }
+
     @Test
     void test_PREvent_match_SCMNavigator() throws Exception {
         sut.process(HookEventType.PULL_REQUEST_CREATED.getKey(), loadResource("pullrequest_created.json"), Collections.emptyMap(), mock(BitbucketEndpoint.class));
@@ -197,6 +238,50 @@ class PostWebhooksPullRequestProcessorTest {
             .hasSize(1);
     }
 
+    @Test
+    void test_update_without_new_revisions_is_skipped() throws Exception {
+        sut.process(PostWebhooksEventType.PULL_REQUEST_OPENED.getHeaderName(), loadResource("pullrequest_created.json"), Collections.emptyMap(), mock(BitbucketEndpoint.class));
+        assertThat(scmEvent).isNotNull();
+
+        // same source and target hashes of the opened pull request
+        scmEvent = null;
+        sut.process(PostWebhooksEventType.PULL_REQUEST_UPDATED.getHeaderName(), loadResource("pullrequest_created.json"), Collections.emptyMap(), mock(BitbucketEndpoint.class));
+        assertThat(scmEvent).isNull();
+
+        sut.process(PostWebhooksEventType.PULL_REQUEST_UPDATED.getHeaderName(), loadResource("pullrequest_updated.json"), Collections.emptyMap(), mock(BitbucketEndpoint.class));
+        assertThat(scmEvent).isNotNull();
+    }
+
+    @Test
+    void test_title_update_is_skipped_and_counted() throws Exception {
+        String payload = loadResource("pullrequest_updated.json");
+        sut.process(PostWebhooksEventType.PULL_REQUEST_UPDATED.getHeaderName(), payload, Collections.emptyMap(), mock(BitbucketEndpoint.class));
+        assertThat(scmEvent).isNotNull();
+        assertThat(sut.revisions.getSkipped()).isZero();
+
+        scmEvent = null;
+        String renamed = payload.replace("\"title\": \"Test webhooks\"", "\"title\": \"Renamed webhooks\"");
+        assertThat(renamed).isNotEqualTo(payload);
+        sut.process(PostWebhooksEventType.PULL_REQUEST_UPDATED.getHeaderName(), renamed, Collections.emptyMap(), mock(BitbucketEndpoint.class));
+        assertThat(scmEvent).isNull();
+        assertThat(sut.revisions.getSkipped()).isEqualTo(1);
+    }
+
+    @Test
+    void test_reopen_without_new_revisions_is_not_skipped() throws Exception {
+        String payload = loadResource("pullrequest_updated.json");
+        sut.process(PostWebhooksEventType.PULL_REQUEST_UPDATED.getHeaderName(), payload, Collections.emptyMap(), mock(BitbucketEndpoint.class));
+        sut.process(PostWebhooksEventType.PULL_REQUEST_DECLINED.getHeaderName(), payload, Collections.emptyMap(), mock(BitbucketEndpoint.class));
+        assertThat(scmEvent).isNotNull();
+        assertThat(scmEvent.getType()).isEqualTo(Type.REMOVED);
+
+        // the reopen is notified as an update with the same revisions
+        scmEvent = null;
+        sut.process(PostWebhooksEventType.PULL_REQUEST_UPDATED.getHeaderName(), payload, Collections.emptyMap(), mock(BitbucketEndpoint.class));
+        assertThat(scmEvent).isNotNull();
+        assertThat(scmEvent.getType()).isEqualTo(Type.UPDATED);
+    }
+
     private String loadResource(String resource) throws IOException {
         try (InputStream stream = this.getClass().getResourceAsStream(resource)) {
             return IOUtils.toString(stream, StandardCharsets.UTF_8);
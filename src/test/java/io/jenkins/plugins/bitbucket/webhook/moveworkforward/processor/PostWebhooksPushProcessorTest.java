@@ -32,8 +32,10 @@ import io.jenkins.plugins.bitbucket.webhook.moveworkforward.util.HookProcessorTe
 import java.io.IOException;
 import java.io.InputStream;
 import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import jenkins.plugins.git.AbstractGitSCMSource.SCMRevisionImpl;
 import jenkins.scm.api.SCMEvent;
@@ -223,6 +225,138 @@ class PostWebhooksPushProcessorTest {
         assertThat(scmEvent).isNull();
     }
 
+    @Test
+    void test_repository_is_read_without_bind_the_payload() throws Exception {
+        RepositoryIdentity repository = WebhookPayload.repositoryFromPayload(loadResource("commit_update.json"));
+        assertThat(repository).isNotNull();
+        assertThat(repository.getProjectKey()).isEqualTo("PROJECT_1");
+        assertThat(repository.getRepositorySlug()).isEqualTo("rep_1");
+        assertThat(repository.getSelfLinks()).containsExactly("http://localhost:7990/bitbucket/projects/PROJECT_1/repos/rep_1/browse");
+
+        assertThat(WebhookPayload.repositoryFromPayload("{\"push\": {\"changes\": []}}")).isNull();
+        assertThat(WebhookPayload.repositoryFromPayload("not a json")).isNull();
+    }
+
+    @WithJenkins
+    @Test
+    void test_push_of_untracked_repository_is_skipped(JenkinsRule r) throws Exception {
+        AbstractPostWebhookProcessor.SKIP_UNTRACKED_REPOSITORIES = true;
+        try {
+            sut.process(HookEventType.PUSH.getKey(), loadResource("commit_update.json"), Collections.emptyMap(), mock(BitbucketEndpoint.class));
+            assertThat(scmEvent).isNull();
+        } finally {
+            AbstractPostWebhookProcessor.SKIP_UNTRACKED_REPOSITORIES = false;
+        }
+    }
+
+    @Test
+    void test_push_of_same_repository_are_coalesced() throws Exception {
+        List<Runnable> scheduled = new ArrayList<>();
+        List<PostWebhooksPushEvent> events = new ArrayList<>();
+        PostWebhooksProcessor processor = coalescingProcessor(scheduled, events);
+
+        processor.process(HookEventType.PUSH.getKey(), loadResource("branch_created.json"), Collections.emptyMap(), mock(BitbucketEndpoint.class));
+        processor.process(HookEventType.PUSH.getKey(), loadResource("commit_update.json"), Collections.emptyMap(), mock(BitbucketEndpoint.class));
+        processor.process(HookEventType.PUSH.getKey(), loadResource("commit_update2.json"), Collections.emptyMap(), mock(BitbucketEndpoint.class));
+        processor.process(HookEventType.PUSH.getKey(), loadResource("branch_deleted.json"), Collections.emptyMap(), mock(BitbucketEndpoint.class));
+        assertThat(events).isEmpty();
+        assertThat(scheduled).hasSize(1);
+        scheduled.forEach(Runnable::run);
+
+        // the deletion wins over the creation and the update of the same branch
+        assertThat(events).hasSize(2);
+        BitbucketSCMSource scmSource = new BitbucketSCMSource("PROJECT_1", "rep_1");
+        scmSource.setServerUrl(SERVER_URL);
+
+        PostWebhooksPushEvent event = events.get(0);
+        assertThat(event.getType()).isEqualTo(SCMEvent.Type.UPDATED);
+        assertThat(event.heads(scmSource))
+            .hasSize(1)
+            .containsEntry(new BranchSCMHead("master"), new SCMRevisionImpl(new BranchSCMHead("master"), "500cf91e7b4b7d9f995cdb6e81cb5538216ac02e"));
+
+        event = events.get(1);
+        assertThat(event.getType()).isEqualTo(SCMEvent.Type.REMOVED);
+        assertThat(event.heads(scmSource))
+            .hasSize(1)
+            .containsEntry(new BranchSCMHead("test-webhook"), null);
+    }
+
+    @Test
+    void test_coalesced_push_keeps_creation_of_the_branch() throws Exception {
+        List<Runnable> scheduled = new ArrayList<>();
+        List<PostWebhooksPushEvent> events = new ArrayList<>();
+        PostWebhooksProcessor processor = coalescingProcessor(scheduled, events);
+
+        processor.process(HookEventType.PUSH.getKey(), loadResource("branch_created.json"), Collections.emptyMap(), mock(BitbucketEndpoint.class));
+        processor.process(HookEventType.PUSH.getKey(), loadResource("commit_update.json"), Collections.emptyMap(), mock(BitbucketEndpoint.class));
+        scheduled.forEach(Runnable::run);
+
+        assertThat(events).hasSize(1);
+        BitbucketSCMSource scmSource = new BitbucketSCMSource("PROJECT_1", "rep_1");
+        scmSource.setServerUrl(SERVER_URL);
+
+        PostWebhooksPushEvent event = events.get(0);
+        assertThat(event.getType()).isEqualTo(SCMEvent.Type.CREATED);
+        assertThat(event.getChanges()).singleElement().satisfies(change -> {
+            assertThat(change.isCreated()).isTrue();
+            assertThat(change.getOld()).isNull();
+        });
+        assertThat(event.heads(scmSource))
+            .hasSize(1)
+            .containsEntry(new BranchSCMHead("test-webhook"), new SCMRevisionImpl(new BranchSCMHead("test-webhook"), "c0158b3e6c8cecf3bddc39d20957a98660cd23fd"));
+    }
+
+    private PostWebhooksProcessor coalescingProcessor(List<Runnable> scheduled, List<PostWebhooksPushEvent> events) {
+        return new PostWebhooksProcessor((task, delayMillis) -> scheduled.add(task)) {
+            @Override
+            long getCoalescingWindowMillis() {
+                return 500;
+            }
+
+            @Override
+            public void notifyEvent(SCMHeadEvent<?> event, int delaySeconds) {
+                events.add((PostWebhooksPushEvent) event);
+            }
+        };
+    }
+
+    @Test
+    void test_mixed_push_is_split_by_type_of_change() throws Exception {
+        List<PostWebhooksPushEvent> events = new ArrayList<>();
+        PostWebhooksProcessor processor = new PostWebhooksProcessor() {
+            @Override
+            public void notifyEvent(SCMHeadEvent<?> event, int delaySeconds) {
+                events.add((PostWebhooksPushEvent) event);
+            }
+        };
+        processor.process(HookEventType.PUSH.getKey(), loadResource("mixed_push.json"), Collections.emptyMap(), mock(BitbucketEndpoint.class));
+
+        assertThat(events)
+            .extracting(SCMEvent::getType)
+            .containsExactly(SCMEvent.Type.CREATED, SCMEvent.Type.UPDATED, SCMEvent.Type.REMOVED);
+
+        BitbucketSCMSource scmSource = new BitbucketSCMSource("PROJECT_1", "rep_1");
+        scmSource.setServerUrl(SERVER_URL);
+        assertThat(events.get(0).heads(scmSource).keySet())
+            .extracting(SCMHead::getName)
+            .containsExactlyInAnyOrder("feature/new", "v1.0");
+        assertThat(events.get(1).heads(scmSource))
+            .containsOnlyKeys(new BranchSCMHead("master"));
+        assertThat(events.get(2).heads(scmSource))
+            .hasSize(1)
+            .containsEntry(new BranchSCMHead("test-webhook"), null);
+    }
+
+    @Test
+    void test_tag_pushes_are_processed_in_tag_lane() throws Exception {
+        String eventType = HookEventType.PUSH.getKey();
+        assertThat(sut.getLane(eventType, loadResource("commit_update.json"))).isEqualTo(WebhookLane.PUSH);
+        assertThat(sut.getLane(eventType, loadResource("mixed_push.json"))).isEqualTo(WebhookLane.PUSH);
+
+        String tagPush = "{\"push\":{\"changes\":[{\"created\":true,\"closed\":false,\"new\":{\"type\":\"tag\",\"name\":\"v1.0\"},\"old\":null}]}}";
+        assertThat(sut.getLane(eventType, tagPush)).isEqualTo(WebhookLane.TAG);
+    }
+
     private String loadResource(String resource) throws IOException {
         try (InputStream stream = this.getClass().getResourceAsStream(resource)) {
             return IOUtils.toString(stream, StandardCharsets.UTF_8);
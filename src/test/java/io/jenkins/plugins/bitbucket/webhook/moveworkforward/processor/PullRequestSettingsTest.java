@@ -0,0 +1,69 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2026, Nikolas Falco
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package io.jenkins.plugins.bitbucket.webhook.moveworkforward.processor;
+
+import com.cloudbees.jenkins.plugins.bitbucket.BitbucketSCMSource;
+import com.cloudbees.jenkins.plugins.bitbucket.trait.OriginPullRequestDiscoveryTrait;
+import java.util.List;
+import jenkins.scm.api.mixin.ChangeRequestCheckoutStrategy;
+import org.junit.jupiter.api.Test;
+import org.jvnet.hudson.test.JenkinsRule;
+import org.jvnet.hudson.test.junit.jupiter.WithJenkins;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@WithJenkins
+class PullRequestSettingsTest {
+
+    @Test
+    void test_unchanged_source_reuses_the_settings(JenkinsRule r) {
+        BitbucketSCMSource source = new BitbucketSCMSource("PROJECT_1", "rep_1");
+        source.setTraits(List.of(new OriginPullRequestDiscoveryTrait(1)));
+
+        PullRequestSettings settings = PullRequestSettings.of(source);
+        assertThat(settings.wantPRs()).isTrue();
+        assertThat(settings.originPRStrategies()).containsOnly(ChangeRequestCheckoutStrategy.MERGE);
+        assertThat(PullRequestSettings.of(source)).isSameAs(settings);
+    }
+
+    @Test
+    void test_reconfigured_source_gets_new_settings(JenkinsRule r) {
+        BitbucketSCMSource source = new BitbucketSCMSource("PROJECT_1", "rep_1");
+        source.setTraits(List.of(new OriginPullRequestDiscoveryTrait(1)));
+        PullRequestSettings settings = PullRequestSettings.of(source);
+
+        // saving the configuration creates new trait instances, even if equivalent
+        source.setTraits(List.of(new OriginPullRequestDiscoveryTrait(1)));
+        PullRequestSettings resaved = PullRequestSettings.of(source);
+        assertThat(resaved).isNotSameAs(settings);
+        assertThat(resaved.originPRStrategies()).containsOnly(ChangeRequestCheckoutStrategy.MERGE);
+
+        source.setTraits(List.of(new OriginPullRequestDiscoveryTrait(3)));
+        assertThat(PullRequestSettings.of(source).originPRStrategies())
+            .containsOnly(ChangeRequestCheckoutStrategy.MERGE, ChangeRequestCheckoutStrategy.HEAD);
+
+        source.setTraits(List.of());
+        assertThat(PullRequestSettings.of(source).wantPRs()).isFalse();
+    }
+}
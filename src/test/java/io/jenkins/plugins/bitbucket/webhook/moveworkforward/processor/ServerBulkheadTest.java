@@ -0,0 +1,150 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2026, Nikolas Falco
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package io.jenkins.plugins.bitbucket.webhook.moveworkforward.processor;
+
+import com.cloudbees.jenkins.plugins.bitbucket.api.webhook.BitbucketWebhookProcessorException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ServerBulkheadTest {
+
+    private static final WebhookProcessingLimits LIMITS = new WebhookProcessingLimits() {
+        @Override
+        public int getMaxConcurrentEvents() {
+            return 1;
+        }
+
+        @Override
+        public int getMaxQueuedEvents() {
+            return 1;
+        }
+    };
+
+    @Test
+    void test_server_webhooks_wait_in_the_bulkhead() throws Exception {
+        WebhookWorkQueue queue = new WebhookWorkQueue("test", 4, 10, false);
+        ServerBulkhead bulkhead = new ServerBulkhead("http://localhost:7990");
+        ServerBulkhead other = new ServerBulkhead("http://bitbucket.example.com");
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch queued = new CountDownLatch(1);
+        CountDownLatch otherServer = new CountDownLatch(1);
+        try {
+            bulkhead.submit(queue, WebhookLane.PUSH, LIMITS, "first", () -> {
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+            bulkhead.submit(queue, WebhookLane.PUSH, LIMITS, "second", queued::countDown);
+            assertThat(bulkhead.getPending(WebhookLane.PUSH)).isEqualTo(1);
+
+            assertThatThrownBy(() -> bulkhead.submit(queue, WebhookLane.PUSH, LIMITS, "third", () -> { }))
+                .isInstanceOf(BitbucketWebhookProcessorException.class);
+            assertThat(bulkhead.getRejected()).isEqualTo(1);
+            assertThat(bulkhead.getLastRejection()).isPositive();
+
+            // other lanes and other servers are not affected
+            bulkhead.submit(queue, WebhookLane.PULL_REQUEST, LIMITS, "pull request", () -> { });
+            other.submit(queue, WebhookLane.PUSH, LIMITS, "other server", otherServer::countDown);
+            assertThat(otherServer.await(10, TimeUnit.SECONDS)).isTrue();
+
+            release.countDown();
+            assertThat(queued.await(10, TimeUnit.SECONDS)).isTrue();
+        } finally {
+            release.countDown();
+            queue.shutdown();
+        }
+    }
+
+    @Test
+    void test_waiting_webhook_is_handed_again_when_the_lane_is_full() throws Exception {
+        WebhookWorkQueue queue = new WebhookWorkQueue("test", 1, 1, false);
+        ServerBulkhead bulkhead = new ServerBulkhead("http://localhost:7990");
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch fillerStarted = new CountDownLatch(1);
+        CountDownLatch second = new CountDownLatch(1);
+        CountDownLatch last = new CountDownLatch(1);
+        try {
+            bulkhead.submit(queue, WebhookLane.PUSH, LIMITS, "first", () -> {
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+            bulkhead.submit(queue, WebhookLane.PUSH, LIMITS, "second", second::countDown);
+            // the lane is full when the second webhook is handed to it
+            queue.submit("filler", fillerStarted::countDown);
+            release.countDown();
+            // the only worker takes the filler once the first webhook is completed
+            assertThat(fillerStarted.await(10, TimeUnit.SECONDS)).isTrue();
+
+            // the accepted webhook is not lost
+            assertThat(second.await(10, TimeUnit.SECONDS)).isTrue();
+            assertThat(bulkhead.getRejected()).isZero();
+            assertThat(bulkhead.getPending(WebhookLane.PUSH)).isZero();
+
+            bulkhead.submit(queue, WebhookLane.PUSH, LIMITS, "last", last::countDown);
+            assertThat(last.await(10, TimeUnit.SECONDS)).isTrue();
+        } finally {
+            release.countDown();
+            queue.shutdown();
+        }
+    }
+
+    @Test
+    void test_saturated_server_leaves_a_worker_to_the_other_servers() throws Exception {
+        WebhookWorkQueue queue = new WebhookWorkQueue("test", 2, 10, false);
+        ServerBulkhead saturated = new ServerBulkhead("http://localhost:7990");
+        ServerBulkhead other = new ServerBulkhead("http://bitbucket.example.com");
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch otherServer = new CountDownLatch(1);
+        Runnable blocking = () -> {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        };
+        try {
+            // default limits allow as many webhooks as the lane has workers
+            for (int i = 0; i < 3; i++) {
+                saturated.submit(queue, WebhookLane.PUSH, null, "hook " + i, blocking);
+            }
+            assertThat(saturated.getRunning(WebhookLane.PUSH)).isEqualTo(1);
+            assertThat(saturated.getPending(WebhookLane.PUSH)).isEqualTo(2);
+
+            other.submit(queue, WebhookLane.PUSH, null, "other server", otherServer::countDown);
+            assertThat(otherServer.await(10, TimeUnit.SECONDS)).isTrue();
+        } finally {
+            release.countDown();
+            queue.shutdown();
+        }
+    }
+}
@@ -0,0 +1,70 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2026, Nikolas Falco
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package io.jenkins.plugins.bitbucket.webhook.moveworkforward.processor;
+
+import com.cloudbees.jenkins.plugins.bitbucket.api.BitbucketHref;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ServerHostsTest {
+
+    @Test
+    void test_host_is_case_insensitive() {
+        ServerHosts hosts = ServerHosts.of(Map.of("self", List.of(new BitbucketHref("https://Bitbucket.acme.com/projects/P/repos/r/browse"))));
+
+        assertThat(hosts.matches("https://bitbucket.acme.com")).isTrue();
+        assertThat(hosts.matches("https://BITBUCKET.acme.com:443/")).isTrue();
+        assertThat(hosts.matches("https://bitbucket.example.com")).isFalse();
+    }
+
+    @Test
+    void test_port_is_ignored() {
+        ServerHosts hosts = ServerHosts.of(Map.of("self", List.of(new BitbucketHref("http://localhost:7990/projects/P/repos/r/browse"))));
+
+        assertThat(hosts.matches("http://localhost:7990")).isTrue();
+        assertThat(hosts.matches("http://LOCALHOST:7990/bitbucket")).isTrue();
+        // server URL of a reverse proxy in front of Bitbucket
+        assertThat(hosts.matches("https://localhost")).isTrue();
+    }
+
+    @Test
+    void test_without_self_links() {
+        assertThat(ServerHosts.of(null).matches("http://localhost:7990")).isTrue();
+        assertThat(ServerHosts.of(Collections.emptyMap()).matches("http://localhost:7990")).isTrue();
+        assertThat(ServerHosts.of(Collections.emptyMap()).matches(null)).isFalse();
+        assertThat(ServerHosts.of(Map.of("self", List.of())).matches("http://localhost:7990")).isFalse();
+    }
+
+    @Test
+    void test_invalid_server_url() {
+        ServerHosts hosts = ServerHosts.of(Map.of("self", List.of(new BitbucketHref("http://localhost:7990/projects/P/repos/r/browse"))));
+
+        assertThat(hosts.matches("not a valid url")).isFalse();
+        assertThat(hosts.matches("localhost")).isFalse();
+    }
+}
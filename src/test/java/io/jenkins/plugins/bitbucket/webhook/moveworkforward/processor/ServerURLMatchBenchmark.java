@@ -0,0 +1,112 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2026, Nikolas Falco
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package io.jenkins.plugins.bitbucket.webhook.moveworkforward.processor;
+
+import com.cloudbees.jenkins.plugins.bitbucket.api.BitbucketHref;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Measures the per source cost of the server URL check of an event. The
+ * {@code legacy} benchmark parses both URIs for each source as done before
+ * the host of the event were precomputed, {@code precomputed} looks up the
+ * normalised host of the source server URL in the events hosts.
+ * <p>
+ * Sources are configured with 10 different server URLs, the score is per
+ * source.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ServerURLMatchBenchmark {
+    private static final int SOURCES = 1000;
+
+    @Param({ "1", "3" })
+    public int selfLinks;
+
+    private Map<String, List<BitbucketHref>> links;
+    private ServerHosts serverHosts;
+    private List<String> serverURLs;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        List<BitbucketHref> hrefs = new ArrayList<>(selfLinks);
+        for (int i = 0; i < selfLinks; i++) {
+            hrefs.add(new BitbucketHref("http://bitbucket-" + i + ".acme.com:7990/projects/PROJECT_1/repos/rep_1/browse"));
+        }
+        links = Map.of("self", hrefs);
+        serverHosts = ServerHosts.of(links);
+
+        serverURLs = new ArrayList<>(SOURCES);
+        for (int i = 0; i < SOURCES; i++) {
+            serverURLs.add("http://bitbucket-" + (i % 10) + ".acme.com:7990");
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SOURCES)
+    public void legacy(Blackhole bh) {
+        for (String serverURL : serverURLs) {
+            bh.consume(legacyMatch(serverURL));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SOURCES)
+    public void precomputed(Blackhole bh) {
+        for (String serverURL : serverURLs) {
+            bh.consume(serverHosts.matches(serverURL));
+        }
+    }
+
+    private boolean legacyMatch(String serverURL) {
+        for (BitbucketHref link : links.get("self")) {
+            try {
+                URI navUri = new URI(serverURL);
+                URI evtUri = new URI(link.getHref());
+                if (navUri.getHost().equalsIgnoreCase(evtUri.getHost())) {
+                    return true;
+                }
+            } catch (URISyntaxException e) {
+                // ignore
+            }
+        }
+        return false;
+    }
+}
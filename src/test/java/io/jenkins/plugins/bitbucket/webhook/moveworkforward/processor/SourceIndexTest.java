@@ -0,0 +1,163 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2026, Nikolas Falco
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package io.jenkins.plugins.bitbucket.webhook.moveworkforward.processor;
+
+import com.cloudbees.jenkins.plugins.bitbucket.BitbucketSCMSource;
+import com.cloudbees.jenkins.plugins.bitbucket.api.endpoint.BitbucketEndpoint;
+import com.cloudbees.jenkins.plugins.bitbucket.hooks.HookEventType;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import jenkins.scm.api.SCMHeadEvent;
+import jenkins.scm.api.SCMSource;
+import jenkins.scm.api.SCMSourceOwner;
+import org.apache.commons.io.IOUtils;
+import org.junit.jupiter.api.Test;
+import org.jvnet.hudson.test.JenkinsRule;
+import org.jvnet.hudson.test.junit.jupiter.WithJenkins;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@WithJenkins
+class SourceIndexTest {
+    private static final String SERVER_URL = "http://localhost:7990";
+
+    @Test
+    void test_sources_are_indexed_by_server_host_owner_and_slug(JenkinsRule r) {
+        SourceIndex sut = new SourceIndex();
+        BitbucketSCMSource source = newSource("http://LocalHost:7990/", "PROJECT_1", "rep_1");
+        BitbucketSCMSource otherServer = newSource("http://bitbucket.example.com", "PROJECT_1", "rep_1");
+        SCMSourceOwner owner = newOwner(source);
+        SCMSourceOwner otherOwner = newOwner(otherServer);
+        sut.index(owner);
+        sut.index(otherOwner);
+
+        assertThat(sut.isIndexed(owner)).isTrue();
+        assertThat(sut.isIndexedAsConfigured(source)).isTrue();
+        assertThat(sut.getSources(host -> true, "project_1", "REP_1")).containsOnly(source, otherServer);
+        assertThat(sut.getSources("localhost"::equals, "project_1", "REP_1")).containsOnly(source);
+        assertThat(sut.getOwners("localhost"::equals, "PROJECT_1", "rep_1")).containsOnly(owner);
+        assertThat(sut.getSources("localhost"::equals, "PROJECT_1", "rep_2")).isEmpty();
+        assertThat(sut.getSources("scm.example.com"::equals, "PROJECT_1", "rep_1")).isEmpty();
+    }
+
+    @Test
+    void test_index_follows_renamed_edited_and_deleted_items(JenkinsRule r) {
+        SourceIndex sut = SourceIndex.get();
+        BitbucketSCMSource source = newSource(SERVER_URL, "PROJECT_1", "rep_1");
+        SCMSourceOwner owner = newOwner(source);
+        try {
+            new SourceIndex.SaveableListenerImpl().onChange(owner, null);
+            assertThat(sut.getOwners(host -> true, "PROJECT_1", "rep_1")).containsOnly(owner);
+
+            new SourceIndex.ItemListenerImpl().onLocationChanged(owner, "old", "new");
+            assertThat(sut.getOwners(host -> true, "PROJECT_1", "rep_1")).containsOnly(owner);
+
+            // the configuration form replaces the sources before saving the owner
+            BitbucketSCMSource edited = newSource(SERVER_URL, "PROJECT_1", "rep_2");
+            edited.setOwner(owner);
+            when(owner.getSCMSources()).thenReturn(new ArrayList<>(List.of(edited)));
+            new SourceIndex.SaveableListenerImpl().onChange(owner, null);
+            assertThat(sut.getSources(host -> true, "PROJECT_1", "rep_1")).isEmpty();
+            assertThat(sut.getSources(host -> true, "PROJECT_1", "rep_2")).containsOnly(edited);
+            assertThat(sut.isIndexedAsConfigured(source)).isFalse();
+            assertThat(sut.isIndexedAsConfigured(edited)).isTrue();
+
+            new SourceIndex.ItemListenerImpl().onDeleted(owner);
+            assertThat(sut.isIndexed(owner)).isFalse();
+            assertThat(sut.getSources(host -> true, "PROJECT_1", "rep_2")).isEmpty();
+        } finally {
+            sut.remove(owner);
+        }
+    }
+
+    @Test
+    void test_source_edited_but_not_saved_is_still_matched(JenkinsRule r) throws Exception {
+        SourceIndex sut = SourceIndex.get();
+        BitbucketSCMSource indexed = newSource("http://bitbucket.example.com", "PROJECT_1", "rep_1");
+        BitbucketSCMSource otherRepository = newSource(SERVER_URL, "PROJECT_1", "rep_2");
+        SCMSourceOwner owner = newOwner(indexed, otherRepository);
+        try {
+            sut.index(owner);
+            PostWebhooksPushEvent event = processPush("commit_update.json");
+
+            // routed through the index
+            assertThat(event.heads(otherRepository)).isEmpty();
+
+            // the server URL is changed in place and the owner is not saved yet
+            indexed.setServerUrl(SERVER_URL);
+            assertThat(sut.isIndexedAsConfigured(indexed)).isFalse();
+            assertThat(event.heads(indexed)).isNotEmpty();
+
+            // a new instance not saved yet
+            BitbucketSCMSource unsaved = newSource(SERVER_URL, "PROJECT_1", "rep_1");
+            unsaved.setOwner(owner);
+            assertThat(event.heads(unsaved)).isNotEmpty();
+        } finally {
+            sut.remove(owner);
+        }
+    }
+
+    private static BitbucketSCMSource newSource(String serverURL, String repoOwner, String repository) {
+        BitbucketSCMSource source = new BitbucketSCMSource(repoOwner, repository);
+        source.setServerUrl(serverURL);
+        return source;
+    }
+
+    private static SCMSourceOwner newOwner(BitbucketSCMSource... sources) {
+        SCMSourceOwner owner = mock(SCMSourceOwner.class);
+        List<SCMSource> result = new ArrayList<>();
+        for (BitbucketSCMSource source : sources) {
+            source.setOwner(owner);
+            result.add(source);
+        }
+        when(owner.getSCMSources()).thenReturn(result);
+        when(owner.getFullName()).thenReturn("owner");
+        return owner;
+    }
+
+    private PostWebhooksPushEvent processPush(String resource) throws IOException {
+        List<SCMHeadEvent<?>> events = new ArrayList<>();
+        PostWebhooksProcessor processor = new PostWebhooksProcessor() {
+            @Override
+            public void notifyEvent(SCMHeadEvent<?> event, int delaySeconds) {
+                events.add(event);
+            }
+        };
+        processor.process(HookEventType.PUSH.getKey(), loadResource(resource), Collections.emptyMap(), mock(BitbucketEndpoint.class));
+        assertThat(events).hasSize(1);
+        return (PostWebhooksPushEvent) events.get(0);
+    }
+
+    private String loadResource(String resource) throws IOException {
+        try (InputStream stream = this.getClass().getResourceAsStream(resource)) {
+            return IOUtils.toString(stream, StandardCharsets.UTF_8);
+        }
+    }
+}
@@ -0,0 +1,129 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2026, Nikolas Falco
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package io.jenkins.plugins.bitbucket.webhook.moveworkforward.processor;
+
+import com.cloudbees.jenkins.plugins.bitbucket.BitbucketSCMNavigator;
+import com.cloudbees.jenkins.plugins.bitbucket.BitbucketSCMSource;
+import com.cloudbees.jenkins.plugins.bitbucket.api.endpoint.BitbucketEndpoint;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import jenkins.scm.api.SCMHeadEvent;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import static org.mockito.Mockito.mock;
+
+/**
+ * Measures the fan-out cost of one event against all the Bitbucket sources
+ * and navigators of a controller, as done by the SCM API when the event is
+ * dispatched: {@code isMatch(SCMNavigator)} for each navigator and
+ * {@code heads(SCMSource)} for each source.
+ * <p>
+ * Sources are spread over 100 projects and only one of them matches the
+ * repository of the event, the score is per event.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class SourceMatchingBenchmark {
+    private static final int PROJECTS = 100;
+
+    @Param({ "1000", "10000", "50000" })
+    public int sources;
+
+    @Param({ "commit_update.json", "pullrequest_updated.json" })
+    public String payloadName;
+
+    private SCMHeadEvent<?> event;
+    private List<BitbucketSCMSource> scmSources;
+    private List<BitbucketSCMNavigator> scmNavigators;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        String payload = BenchmarkPayloads.load(payloadName);
+        AbstractPostWebhookProcessor processor = BenchmarkPayloads.isPullRequest(payloadName) ? new PostWebhooksPullRequestProcessor() {
+            @Override
+            public void notifyEvent(SCMHeadEvent<?> event, int delaySeconds) {
+                SourceMatchingBenchmark.this.event = event;
+            }
+        } : new PostWebhooksProcessor() {
+            @Override
+            public void notifyEvent(SCMHeadEvent<?> event, int delaySeconds) {
+                SourceMatchingBenchmark.this.event = event;
+            }
+        };
+        String eventType = BenchmarkPayloads.isPullRequest(payloadName)
+                ? PostWebhooksEventType.PULL_REQUEST_UPDATED.getHeaderName()
+                : PostWebhooksEventType.ABSTRACT_REPOSITORY_REFS_CHANGED.getHeaderName();
+        processor.process(eventType, payload, Collections.emptyMap(), mock(BitbucketEndpoint.class));
+        if (event == null) {
+            throw new IllegalStateException("No event generated for " + payloadName);
+        }
+
+        scmSources = new ArrayList<>(sources);
+        // the repository of the event
+        scmSources.add(newSource("PROJECT_1", "rep_1"));
+        for (int i = 1; i < sources; i++) {
+            scmSources.add(newSource("PROJECT_" + (i % PROJECTS), "rep_" + i));
+        }
+        Collections.shuffle(scmSources);
+
+        scmNavigators = new ArrayList<>(PROJECTS);
+        for (int i = 0; i < PROJECTS; i++) {
+            BitbucketSCMNavigator navigator = new BitbucketSCMNavigator("PROJECT_" + i);
+            navigator.setServerUrl(BenchmarkPayloads.SERVER_URL);
+            scmNavigators.add(navigator);
+        }
+    }
+
+    private static BitbucketSCMSource newSource(String projectKey, String slug) {
+        BitbucketSCMSource source = new BitbucketSCMSource(projectKey, slug);
+        source.setServerUrl(BenchmarkPayloads.SERVER_URL);
+        return source;
+    }
+
+    @Benchmark
+    public void matchNavigators(Blackhole bh) {
+        for (BitbucketSCMNavigator navigator : scmNavigators) {
+            bh.consume(event.isMatch(navigator));
+        }
+    }
+
+    @Benchmark
+    public void matchSources(Blackhole bh) {
+        for (BitbucketSCMSource source : scmSources) {
+            bh.consume(event.heads(source));
+        }
+    }
+}
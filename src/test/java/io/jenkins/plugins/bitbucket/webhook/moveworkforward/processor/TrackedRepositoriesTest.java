@@ -0,0 +1,128 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2026, Nikolas Falco
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package io.jenkins.plugins.bitbucket.webhook.moveworkforward.processor;
+
+import com.cloudbees.jenkins.plugins.bitbucket.BitbucketSCMNavigator;
+import com.cloudbees.jenkins.plugins.bitbucket.BitbucketSCMSource;
+import com.cloudbees.jenkins.plugins.bitbucket.api.endpoint.BitbucketEndpoint;
+import com.cloudbees.jenkins.plugins.bitbucket.hooks.HookEventType;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import jenkins.scm.api.SCMHeadEvent;
+import jenkins.scm.api.SCMNavigator;
+import jenkins.scm.api.SCMNavigatorOwner;
+import jenkins.scm.api.SCMSource;
+import jenkins.scm.api.SCMSourceOwner;
+import org.apache.commons.io.IOUtils;
+import org.junit.jupiter.api.Test;
+import org.jvnet.hudson.test.JenkinsRule;
+import org.jvnet.hudson.test.junit.jupiter.WithJenkins;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@WithJenkins
+class TrackedRepositoriesTest {
+    private static final String SERVER_URL = "http://localhost:7990";
+    private static final List<String> SELF_LINKS = List.of("http://localhost:7990/bitbucket/projects/PROJECT_1/repos/rep_1/browse");
+
+    @Test
+    void test_repository_of_a_source_is_tracked(JenkinsRule r) {
+        BitbucketSCMSource source = new BitbucketSCMSource("PROJECT_1", "rep_1");
+        source.setServerUrl(SERVER_URL);
+        SCMSourceOwner owner = mock(SCMSourceOwner.class);
+        source.setOwner(owner);
+        when(owner.getSCMSources()).thenReturn(List.<SCMSource>of(source));
+        try {
+            SourceIndex.get().index(owner);
+
+            assertThat(TrackedRepositories.isTracked(new RepositoryIdentity("project_1", "REP_1", SELF_LINKS))).isTrue();
+            assertThat(TrackedRepositories.isTracked(new RepositoryIdentity("PROJECT_1", "rep_2", SELF_LINKS))).isFalse();
+            // same repository on another server
+            assertThat(TrackedRepositories.isTracked(new RepositoryIdentity("PROJECT_1", "rep_1",
+                    List.of("http://bitbucket.example.com/projects/PROJECT_1/repos/rep_1/browse")))).isFalse();
+        } finally {
+            SourceIndex.get().remove(owner);
+        }
+    }
+
+    @Test
+    void test_repository_of_a_navigator_is_tracked(JenkinsRule r) {
+        SCMNavigatorOwner owner = newNavigatorOwner();
+        try {
+            SourceIndex.get().index(owner);
+
+            assertThat(TrackedRepositories.isTracked(new RepositoryIdentity("PROJECT_1", "any_repository", SELF_LINKS))).isTrue();
+            assertThat(TrackedRepositories.isTracked(new RepositoryIdentity("PROJECT_2", "any_repository", SELF_LINKS))).isFalse();
+        } finally {
+            SourceIndex.get().remove(owner);
+        }
+    }
+
+    @Test
+    void test_untracked_repository_is_skipped(JenkinsRule r) throws Exception {
+        List<SCMHeadEvent<?>> events = new ArrayList<>();
+        PostWebhooksProcessor processor = new PostWebhooksProcessor() {
+            @Override
+            public void notifyEvent(SCMHeadEvent<?> event, int delaySeconds) {
+                events.add(event);
+            }
+        };
+        String payload = loadResource("commit_update.json");
+        SCMNavigatorOwner owner = newNavigatorOwner();
+        AbstractPostWebhookProcessor.SKIP_UNTRACKED_REPOSITORIES = true;
+        try {
+            processor.process(HookEventType.PUSH.getKey(), payload, Collections.emptyMap(), mock(BitbucketEndpoint.class));
+            assertThat(events).isEmpty();
+
+            SourceIndex.get().index(owner);
+            processor.process(HookEventType.PUSH.getKey(), payload, Collections.emptyMap(), mock(BitbucketEndpoint.class));
+            assertThat(events).hasSize(1);
+        } finally {
+            AbstractPostWebhookProcessor.SKIP_UNTRACKED_REPOSITORIES = false;
+            SourceIndex.get().remove(owner);
+        }
+    }
+
+    private static SCMNavigatorOwner newNavigatorOwner() {
+        BitbucketSCMNavigator navigator = new BitbucketSCMNavigator("PROJECT_1");
+        navigator.setServerUrl(SERVER_URL);
+        // the project key filter is case insensitive
+        navigator.setProjectKey("project_1");
+        SCMNavigatorOwner owner = mock(SCMNavigatorOwner.class);
+        when(owner.getSCMNavigators()).thenReturn(List.<SCMNavigator>of(navigator));
+        return owner;
+    }
+
+    private String loadResource(String resource) throws IOException {
+        try (InputStream stream = this.getClass().getResourceAsStream(resource)) {
+            return IOUtils.toString(stream, StandardCharsets.UTF_8);
+        }
+    }
+}
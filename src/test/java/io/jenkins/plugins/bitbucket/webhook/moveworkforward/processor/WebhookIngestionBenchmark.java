@@ -0,0 +1,139 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2026, Nikolas Falco
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package io.jenkins.plugins.bitbucket.webhook.moveworkforward.processor;
+
+import com.cloudbees.jenkins.plugins.bitbucket.BitbucketSCMSource;
+import com.cloudbees.jenkins.plugins.bitbucket.api.endpoint.BitbucketEndpoint;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import jenkins.scm.api.SCMHeadEvent;
+import org.apache.commons.collections4.MultiValuedMap;
+import org.apache.commons.collections4.map.CaseInsensitiveMap;
+import org.apache.commons.collections4.multimap.ArrayListValuedHashMap;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Measures the cost of one webhook delivery, from {@code canHandle} to the
+ * evaluation of the heads of a matching source.
+ * <p>
+ * Run with the GC profiler (the default of {@code BenchmarkRunner}) to get
+ * the bytes allocated per delivery ({@code gc.alloc.rate.norm}).
+ */
+@State(Scope.Thread)
+// the same payload is ingested on each invocation, it must not be recognised as a redelivery
+@Fork(jvmArgsAppend = "-Dio.jenkins.plugins.bitbucket.webhook.moveworkforward.processor.DeliveryDeduplicator.ttlSeconds=0")
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class WebhookIngestionBenchmark {
+
+    @Param({ "commit_update.json",
+        "branch_created.json",
+        "branch_deleted.json",
+        "pullrequest_created.json",
+        "pullrequest_updated.json",
+        BenchmarkPayloads.SYNTHETIC_PUSH + "100",
+        BenchmarkPayloads.SYNTHETIC_PUSH + "1000",
+        BenchmarkPayloads.SYNTHETIC_PULL_REQUEST + "65536" })
+    public String payloadName;
+
+    private AbstractPostWebhookProcessor processor;
+    private SCMHeadEvent<?> event;
+    private SCMHeadEvent<?> preparedEvent;
+    private boolean pullRequest;
+    private String payload;
+    private Map<String, String> headers;
+    private MultiValuedMap<String, String> parameters;
+    private BitbucketEndpoint endpoint;
+    private BitbucketSCMSource source;
+
+    @Setup
+    public void setup() {
+        payload = BenchmarkPayloads.load(payloadName);
+        pullRequest = BenchmarkPayloads.isPullRequest(payloadName);
+        processor = pullRequest ? new PostWebhooksPullRequestProcessor() {
+            @Override
+            public void notifyEvent(SCMHeadEvent<?> event, int delaySeconds) {
+                WebhookIngestionBenchmark.this.event = event;
+            }
+        } : new PostWebhooksProcessor() {
+            @Override
+            public void notifyEvent(SCMHeadEvent<?> event, int delaySeconds) {
+                WebhookIngestionBenchmark.this.event = event;
+            }
+        };
+
+        headers = new CaseInsensitiveMap<>();
+        headers.put("Content-Type", "application/json; charset=utf-8");
+        headers.put("X-Bitbucket-Type", "server");
+        headers.put("X-Event-Key", pullRequest ? PostWebhooksEventType.PULL_REQUEST_UPDATED.getHeaderName() : PostWebhooksEventType.ABSTRACT_REPOSITORY_REFS_CHANGED.getHeaderName());
+        parameters = new ArrayListValuedHashMap<>();
+        parameters.put("server_url", BenchmarkPayloads.SERVER_URL);
+
+        endpoint = mock(BitbucketEndpoint.class);
+        when(endpoint.getServerURL()).thenReturn(BenchmarkPayloads.SERVER_URL);
+
+        source = new BitbucketSCMSource("PROJECT_1", "rep_1");
+        source.setServerUrl(BenchmarkPayloads.SERVER_URL);
+
+        processor.process(processor.getEventType(headers, parameters), payload, Collections.emptyMap(), endpoint);
+        preparedEvent = event;
+    }
+
+    @Benchmark
+    public void ingest(Blackhole bh) {
+        if (!processor.canHandle(headers, parameters)) {
+            throw new IllegalStateException("Processor does not handle " + payloadName);
+        }
+        String eventType = processor.getEventType(headers, parameters);
+        bh.consume(processor.getServerURL(headers, parameters));
+        event = null;
+        processor.process(eventType, payload, Collections.emptyMap(), endpoint);
+        if (event != null) {
+            bh.consume(event.heads(source));
+        }
+    }
+
+    @Benchmark
+    public Object parse() {
+        return pullRequest ? WebhookPayload.pullRequestEventFromPayload(payload) : WebhookPayload.pushEventFromPayload(payload);
+    }
+
+    @Benchmark
+    public Object heads() {
+        return preparedEvent == null ? null : preparedEvent.heads(source);
+    }
+}
@@ -0,0 +1,106 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2026, Nikolas Falco
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package io.jenkins.plugins.bitbucket.webhook.moveworkforward.processor;
+
+import com.cloudbees.jenkins.plugins.bitbucket.api.webhook.BitbucketWebhookProcessorException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class WebhookWorkQueueTest {
+
+    @Test
+    void test_reject_when_queue_is_full() throws Exception {
+        WebhookWorkQueue queue = new WebhookWorkQueue("test", 1, 1, false);
+        CountDownLatch running = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        try {
+            queue.submit("first", () -> {
+                running.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+            assertThat(running.await(10, TimeUnit.SECONDS)).isTrue();
+            queue.submit("second", () -> { });
+            assertThat(queue.getQueueDepth()).isEqualTo(1);
+
+            assertThatThrownBy(() -> queue.submit("third", () -> { }))
+                .isInstanceOf(BitbucketWebhookProcessorException.class)
+                .hasMessageContaining("retry later");
+            assertThat(queue.getRejected()).isEqualTo(1);
+            assertThat(queue.getSubmitted()).isEqualTo(2);
+        } finally {
+            release.countDown();
+            queue.shutdown();
+        }
+    }
+
+    @Test
+    void test_wait_time_of_queued_payloads() throws Exception {
+        WebhookWorkQueue queue = new WebhookWorkQueue("test", 1, 10, false);
+        CountDownLatch running = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(1);
+        try {
+            queue.submit("first", () -> {
+                running.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+            assertThat(running.await(10, TimeUnit.SECONDS)).isTrue();
+            queue.submit("second", done::countDown);
+            assertThat(queue.getActiveCount()).isEqualTo(1);
+
+            Thread.sleep(50);
+            release.countDown();
+            assertThat(done.await(10, TimeUnit.SECONDS)).isTrue();
+            assertThat(queue.getMaxWaitMillis()).isGreaterThanOrEqualTo(50);
+            assertThat(queue.getAverageWaitMillis()).isPositive().isLessThanOrEqualTo(queue.getMaxWaitMillis());
+        } finally {
+            release.countDown();
+            queue.shutdown();
+        }
+    }
+
+    @Test
+    void test_virtual_threads_fallback() throws Exception {
+        WebhookWorkQueue queue = new WebhookWorkQueue("test", 1, 10, true);
+        CountDownLatch done = new CountDownLatch(1);
+        try {
+            queue.submit("task", done::countDown);
+            assertThat(done.await(10, TimeUnit.SECONDS)).isTrue();
+        } finally {
+            queue.shutdown();
+        }
+    }
+}
@@ -0,0 +1,102 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2026, Nikolas Falco
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package io.jenkins.plugins.bitbucket.webhook.moveworkforward.util;
+
+import com.cloudbees.jenkins.plugins.bitbucket.BitbucketSCMSource;
+import com.cloudbees.jenkins.plugins.bitbucket.api.BitbucketApi;
+import com.cloudbees.jenkins.plugins.bitbucket.api.BitbucketAuthenticatedClient;
+import com.cloudbees.jenkins.plugins.bitbucket.api.endpoint.BitbucketEndpoint;
+import com.cloudbees.jenkins.plugins.bitbucket.api.webhook.BitbucketWebhookConfiguration;
+import com.cloudbees.plugins.credentials.CredentialsScope;
+import com.cloudbees.plugins.credentials.SystemCredentialsProvider;
+import com.cloudbees.plugins.credentials.common.StandardCredentials;
+import com.cloudbees.plugins.credentials.impl.UsernamePasswordCredentialsImpl;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.jupiter.api.Test;
+import org.jvnet.hudson.test.JenkinsRule;
+import org.jvnet.hudson.test.junit.jupiter.WithJenkins;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@WithJenkins
+class HookClientsTest {
+    private static final String SERVER_URL = "http://bitbucket.example.com";
+
+    @Test
+    void test_client_uses_the_credentials_of_the_webhook_configuration(JenkinsRule r) throws Exception {
+        SystemCredentialsProvider.getInstance().getCredentials().add(new UsernamePasswordCredentialsImpl(CredentialsScope.GLOBAL, "scan", null, "reader", "reader-password"));
+        SystemCredentialsProvider.getInstance().getCredentials().add(new UsernamePasswordCredentialsImpl(CredentialsScope.GLOBAL, "hooks", null, "admin", "admin-password"));
+        BitbucketSCMSource source = new BitbucketSCMSource("OWNER", "repo");
+        source.setServerUrl(SERVER_URL);
+        source.setCredentialsId("scan");
+
+        BitbucketAuthenticatedClient client = mock(BitbucketAuthenticatedClient.class);
+        List<StandardCredentials> used = new ArrayList<>();
+        HookClients clients = new HookClients((serverURL, credentials, repoOwner, repository) -> {
+            used.add(credentials);
+            return client;
+        });
+
+        AtomicReference<BitbucketAuthenticatedClient> given = new AtomicReference<>();
+        clients.run(endpoint("hooks"), source.getRepoOwner(), source.getRepository(), given::set);
+
+        // the scan credentials are not allowed to administer the repository
+        assertThat(given).hasValue(client);
+        assertThat(used).singleElement().satisfies(credentials -> assertThat(credentials.getId()).isEqualTo("hooks"));
+    }
+
+    @Test
+    void test_missing_credentials_fail_the_action(JenkinsRule r) throws Exception {
+        HookClients clients = new HookClients((serverURL, credentials, repoOwner, repository) -> mock(BitbucketAuthenticatedClient.class));
+
+        assertThatThrownBy(() -> clients.run(endpoint("missing"), "OWNER", "repo", client -> { }))
+            .isInstanceOf(IOException.class)
+            .hasMessageContaining("missing");
+    }
+
+    @Test
+    void test_anonymous_client_fails_the_action(JenkinsRule r) throws Exception {
+        SystemCredentialsProvider.getInstance().getCredentials().add(new UsernamePasswordCredentialsImpl(CredentialsScope.GLOBAL, "hooks", null, "admin", "admin-password"));
+        HookClients clients = new HookClients((serverURL, credentials, repoOwner, repository) -> mock(BitbucketApi.class));
+
+        assertThatThrownBy(() -> clients.run(endpoint("hooks"), "OWNER", "repo", client -> { }))
+            .isInstanceOf(IOException.class)
+            .hasMessageContaining("not authenticated");
+    }
+
+    private static BitbucketEndpoint endpoint(String credentialsId) {
+        BitbucketWebhookConfiguration webhook = mock(BitbucketWebhookConfiguration.class);
+        when(webhook.getCredentialsId()).thenReturn(credentialsId);
+        BitbucketEndpoint endpoint = mock(BitbucketEndpoint.class);
+        when(endpoint.getServerURL()).thenReturn(SERVER_URL);
+        when(endpoint.getWebhook()).thenReturn(webhook);
+        return endpoint;
+    }
+}
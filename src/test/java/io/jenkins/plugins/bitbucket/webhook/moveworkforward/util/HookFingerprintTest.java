@@ -0,0 +1,48 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2026, Nikolas Falco
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package io.jenkins.plugins.bitbucket.webhook.moveworkforward.util;
+
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class HookFingerprintTest {
+
+    @Test
+    void test_fingerprint_is_stable() throws Exception {
+        String fingerprint = HookFingerprint.of(List.of("http://jenkins.example.com", "PUSH"));
+
+        assertThat(fingerprint).matches("[0-9a-f]{16}");
+        assertThat(HookFingerprint.of(List.of("http://jenkins.example.com", "PUSH"))).isEqualTo(fingerprint);
+        assertThat(HookFingerprint.of(List.of("http://jenkins.example.com", "TAG"))).isNotEqualTo(fingerprint);
+    }
+
+    @Test
+    void test_parse_description() {
+        assertThat(HookFingerprint.parse(HookFingerprint.describe("Jenkins hook", "0123456789abcdef"))).isEqualTo("0123456789abcdef");
+        assertThat(HookFingerprint.parse("Jenkins hook")).isNull();
+        assertThat(HookFingerprint.parse(null)).isNull();
+    }
+}
@@ -0,0 +1,111 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2026, Nikolas Falco
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package io.jenkins.plugins.bitbucket.webhook.moveworkforward.util;
+
+import com.cloudbees.jenkins.plugins.bitbucket.BitbucketSCMSource;
+import com.cloudbees.jenkins.plugins.bitbucket.api.BitbucketApi;
+import com.cloudbees.jenkins.plugins.bitbucket.api.endpoint.BitbucketEndpoint;
+import com.cloudbees.plugins.credentials.CredentialsScope;
+import com.cloudbees.plugins.credentials.SystemCredentialsProvider;
+import com.cloudbees.plugins.credentials.impl.UsernamePasswordCredentialsImpl;
+import hudson.util.StreamTaskListener;
+import io.jenkins.plugins.bitbucket.webhook.moveworkforward.v1.PostWebhooksConfiguration;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+import org.jvnet.hudson.test.JenkinsRule;
+import org.jvnet.hudson.test.junit.jupiter.WithJenkins;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@WithJenkins
+class HookReconciliationTest {
+    private static final String SERVER_URL = "http://bitbucket.example.com";
+
+    @Test
+    void test_unauthenticated_client_fails_once_for_the_server(JenkinsRule r) throws Exception {
+        SystemCredentialsProvider.getInstance().getCredentials().add(new UsernamePasswordCredentialsImpl(CredentialsScope.GLOBAL, "hooks", null, "admin", "admin-password"));
+        PostWebhooksConfiguration webhook = new PostWebhooksConfiguration(true, "hooks");
+        webhook.setEndpointJenkinsRootURL("http://local-jenkins.com/");
+        BitbucketEndpoint endpoint = mock(BitbucketEndpoint.class);
+        when(endpoint.getServerURL()).thenReturn(SERVER_URL);
+        when(endpoint.getWebhook()).thenReturn(webhook);
+
+        AtomicInteger clients = new AtomicInteger();
+        HookReconciliation sut = new HookReconciliation(new HookClients((serverURL, credentials, repoOwner, repository) -> {
+            clients.incrementAndGet();
+            // anonymous client
+            return mock(BitbucketApi.class);
+        }));
+
+        Map<HookKey, HookRegistry.Entry> entries = new HashMap<>();
+        Map<HookKey, BitbucketSCMSource> sources = new HashMap<>();
+        for (String repository : new String[] { "repo1", "repo2", "repo3" }) {
+            BitbucketSCMSource source = new BitbucketSCMSource("OWNER", repository);
+            source.setServerUrl(SERVER_URL);
+            HookKey key = HookKey.of(SERVER_URL, "OWNER", repository);
+            entries.put(key, new HookRegistry.Entry("1", "abc", 0L));
+            sources.put(key, source);
+        }
+
+        ByteArrayOutputStream log = new ByteArrayOutputStream();
+        HookReconciliation.Outcome outcome = sut.reconcile(entries, sources, serverURL -> endpoint, new StreamTaskListener(log, StandardCharsets.UTF_8));
+
+        assertThat(outcome.reconciled()).isZero();
+        assertThat(outcome.failed()).isEqualTo(3);
+        // the other repositories of the server are not called again
+        assertThat(clients).hasValue(1);
+        assertThat(log.toString(StandardCharsets.UTF_8)).contains("not authenticated");
+    }
+
+    @Test
+    void test_repository_without_managed_hooks_is_forgotten(JenkinsRule r) throws Exception {
+        BitbucketEndpoint endpoint = mock(BitbucketEndpoint.class);
+        when(endpoint.getServerURL()).thenReturn(SERVER_URL);
+        when(endpoint.getWebhook()).thenReturn(new PostWebhooksConfiguration(false, null));
+        AtomicInteger clients = new AtomicInteger();
+        HookReconciliation sut = new HookReconciliation(new HookClients((serverURL, credentials, repoOwner, repository) -> {
+            clients.incrementAndGet();
+            return mock(BitbucketApi.class);
+        }));
+
+        HookKey key = HookKey.of(SERVER_URL, "OWNER", "repo1");
+        HookRegistry.verified(key, "1", "abc");
+        BitbucketSCMSource source = new BitbucketSCMSource("OWNER", "repo1");
+        source.setServerUrl(SERVER_URL);
+
+        HookReconciliation.Outcome outcome = sut.reconcile(Map.of(key, new HookRegistry.Entry("1", "abc", 0L)), Map.of(key, source),
+                serverURL -> endpoint, new StreamTaskListener(new ByteArrayOutputStream(), StandardCharsets.UTF_8));
+
+        assertThat(outcome.reconciled()).isZero();
+        assertThat(outcome.failed()).isZero();
+        assertThat(clients).hasValue(0);
+        assertThat(HookRegistry.getEntry(key)).isNull();
+    }
+}
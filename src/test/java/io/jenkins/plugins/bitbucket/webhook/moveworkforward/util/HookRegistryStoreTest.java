@@ -0,0 +1,79 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2026, Nikolas Falco
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package io.jenkins.plugins.bitbucket.webhook.moveworkforward.util;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class HookRegistryStoreTest {
+
+    @TempDir
+    private Path folder;
+
+    @Test
+    void test_reload_last_state_of_each_repository() throws Exception {
+        Path file = folder.resolve("bitbucket-webhooks").resolve("hook-registry.log");
+        HookKey repo1 = HookKey.of("http://bitbucket.example.com", "PRJ", "repo1");
+        HookKey repo2 = HookKey.of("http://bitbucket.example.com", "PRJ", "repo2");
+        HookKey project = HookKey.of("http://bitbucket.example.com", "PRJ", null);
+        HookRegistry.Entry entry1 = new HookRegistry.Entry("21", "abc", 1000L);
+        HookRegistry.Entry entry2 = new HookRegistry.Entry(null, "def", 2000L);
+        HookRegistry.Entry entry3 = new HookRegistry.Entry("5", "ghi", 3000L);
+
+        Map<HookKey, HookRegistry.Entry> all = new HashMap<>();
+        HookRegistryStore store = new HookRegistryStore(file);
+        all.put(repo1, entry1);
+        store.verified(repo1, entry1, all);
+        all.put(repo2, entry2);
+        store.verified(repo2, entry2, all);
+        all.put(project, entry3);
+        store.verified(project, entry3, all);
+        all.remove(repo1);
+        store.forgotten(repo1, all);
+        // truncated while appending
+        Files.writeString(file, "V\thttp://bitbucket.example.com\tprj\trepo1\t21\tabc\t", StandardCharsets.UTF_8, StandardOpenOption.APPEND);
+
+        HookRegistryStore reloaded = new HookRegistryStore(file);
+        assertThat(reloaded.load()).containsOnly(
+                Map.entry(repo2, entry2),
+                Map.entry(project, entry3));
+        // compacted on load
+        assertThat(Files.readAllLines(file, StandardCharsets.UTF_8)).hasSize(2);
+        assertThat(reloaded.getLines()).isEqualTo(2);
+    }
+
+    @Test
+    void test_missing_file_is_empty() {
+        HookRegistryStore store = new HookRegistryStore(folder.resolve("missing.log"));
+        assertThat(store.load()).isEmpty();
+    }
+}
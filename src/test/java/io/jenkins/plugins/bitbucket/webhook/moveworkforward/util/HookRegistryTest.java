@@ -0,0 +1,89 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2026, Nikolas Falco
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package io.jenkins.plugins.bitbucket.webhook.moveworkforward.util;
+
+import com.cloudbees.jenkins.plugins.bitbucket.BitbucketSCMNavigator;
+import com.cloudbees.jenkins.plugins.bitbucket.BitbucketSCMSource;
+import java.util.List;
+import jenkins.scm.api.SCMNavigator;
+import jenkins.scm.api.SCMNavigatorOwner;
+import jenkins.scm.api.SCMSource;
+import jenkins.scm.api.SCMSourceOwner;
+import org.junit.jupiter.api.Test;
+import org.jvnet.hudson.test.JenkinsRule;
+import org.jvnet.hudson.test.junit.jupiter.WithJenkins;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@WithJenkins
+class HookRegistryTest {
+    private static final String SERVER_URL = "http://bitbucket.example.com";
+
+    @Test
+    void test_verified_hook_is_not_fresh_by_default(JenkinsRule r) {
+        HookKey key = HookKey.of(SERVER_URL, "OWNER", "repo1");
+        try {
+            HookRegistry.verified(key, "1", "abc");
+            assertThat(HookRegistry.isFresh(key, "abc")).isFalse();
+        } finally {
+            HookRegistry.forget(key);
+        }
+    }
+
+    @Test
+    void test_saved_job_forgets_its_repositories(JenkinsRule r) {
+        HookKey key = HookKey.of(SERVER_URL, "OWNER", "repo1");
+        HookKey other = HookKey.of(SERVER_URL, "OWNER", "repo2");
+        long freshSeconds = HookRegistry.FRESH_SECONDS;
+        HookRegistry.FRESH_SECONDS = 3600;
+        try {
+            HookRegistry.verified(key, "1", "abc");
+            HookRegistry.verified(other, "2", "abc");
+            assertThat(HookRegistry.isFresh(key, "abc")).isTrue();
+
+            BitbucketSCMSource source = new BitbucketSCMSource("OWNER", "repo1");
+            source.setServerUrl(SERVER_URL);
+            SCMSourceOwner job = mock(SCMSourceOwner.class);
+            when(job.getSCMSources()).thenReturn(List.<SCMSource>of(source));
+            new HookRegistry.SaveableListenerImpl().onChange(job, null);
+
+            assertThat(HookRegistry.getEntry(key)).isNull();
+            assertThat(HookRegistry.isFresh(other, "abc")).isTrue();
+
+            BitbucketSCMNavigator navigator = new BitbucketSCMNavigator("owner");
+            navigator.setServerUrl(SERVER_URL);
+            SCMNavigatorOwner folder = mock(SCMNavigatorOwner.class);
+            when(folder.getSCMNavigators()).thenReturn(List.<SCMNavigator>of(navigator));
+            new HookRegistry.SaveableListenerImpl().onChange(folder, null);
+
+            assertThat(HookRegistry.getEntry(other)).isNull();
+        } finally {
+            HookRegistry.FRESH_SECONDS = freshSeconds;
+            HookRegistry.forget(key);
+            HookRegistry.forget(other);
+        }
+    }
+}
@@ -0,0 +1,121 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2026, Nikolas Falco
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package io.jenkins.plugins.bitbucket.webhook.moveworkforward.util;
+
+import com.cloudbees.jenkins.plugins.bitbucket.api.BitbucketAuthenticatedClient;
+import java.io.IOException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class RegistrationExecutorTest {
+    private static final String SERVER_URL = "http://bitbucket.example.com";
+
+    @Test
+    void test_register_in_calling_thread() throws Exception {
+        BitbucketAuthenticatedClient client = mock(BitbucketAuthenticatedClient.class);
+        RegistrationExecutor executor = new RegistrationExecutor(SERVER_URL);
+        try {
+            Thread caller = Thread.currentThread();
+            executor.register(key("repo1"), client, registrationClient -> {
+                assertThat(Thread.currentThread()).isSameAs(caller);
+                assertThat(registrationClient).isSameAs(client);
+            });
+            assertThatThrownBy(() -> executor.register(key("repo2"), client, registrationClient -> {
+                throw new IOException("forbidden");
+            })).isInstanceOf(IOException.class);
+
+            assertThat(executor.getReport()).satisfies(report -> {
+                assertThat(report.submitted()).isEqualTo(2);
+                assertThat(report.completed()).isEqualTo(1);
+                assertThat(report.failed()).isEqualTo(1);
+                assertThat(report.pending()).isZero();
+                assertThat(report.failures()).containsEntry("owner/repo2", "forbidden");
+            });
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    void test_register_in_background() throws Exception {
+        BitbucketAuthenticatedClient callerClient = mock(BitbucketAuthenticatedClient.class);
+        when(callerClient.getRepositoryOwner()).thenReturn("OWNER");
+        when(callerClient.getRepositoryName()).thenReturn("repo");
+        BitbucketAuthenticatedClient backgroundClient = mock(BitbucketAuthenticatedClient.class);
+        RegistrationExecutor executor = new RegistrationExecutor(SERVER_URL, (repoOwner, repository, registration) -> registration.register(backgroundClient));
+        executor.configure(2, 0);
+        CountDownLatch running = new CountDownLatch(2);
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(3);
+        try {
+            for (int i = 1; i <= 2; i++) {
+                executor.register(key("repo" + i), callerClient, registrationClient -> {
+                    try {
+                        // the client of the caller could be closed once register returns
+                        assertThat(registrationClient).isSameAs(backgroundClient);
+                        running.countDown();
+                        release.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    } finally {
+                        done.countDown();
+                    }
+                });
+            }
+            // both registrations run at the same time
+            assertThat(running.await(10, TimeUnit.SECONDS)).isTrue();
+            executor.register(key("repo3"), callerClient, registrationClient -> {
+                done.countDown();
+                throw new IOException("forbidden");
+            });
+            assertThat(executor.getReport().pending()).isEqualTo(3);
+
+            release.countDown();
+            assertThat(done.await(10, TimeUnit.SECONDS)).isTrue();
+            long deadline = System.currentTimeMillis() + 10_000;
+            while (executor.getReport().pending() > 0 && System.currentTimeMillis() < deadline) {
+                Thread.sleep(10);
+            }
+            assertThat(executor.getReport()).satisfies(report -> {
+                assertThat(report.pending()).isZero();
+                assertThat(report.completed()).isEqualTo(2);
+                assertThat(report.failed()).isEqualTo(1);
+                assertThat(report.failures()).containsOnlyKeys("owner/repo3");
+            });
+        } finally {
+            release.countDown();
+            executor.shutdown();
+        }
+    }
+
+    private static HookKey key(String repositorySlug) {
+        return HookKey.of(SERVER_URL, "owner", repositorySlug);
+    }
+}
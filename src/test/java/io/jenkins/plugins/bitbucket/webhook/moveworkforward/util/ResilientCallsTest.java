@@ -0,0 +1,158 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2026, Nikolas Falco
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package io.jenkins.plugins.bitbucket.webhook.moveworkforward.util;
+
+import com.cloudbees.jenkins.plugins.bitbucket.api.BitbucketRequestException;
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ResilientCallsTest {
+
+    private long baseDelay;
+
+    @BeforeEach
+    void setup() {
+        baseDelay = ResilientCalls.BASE_DELAY_MILLIS;
+        ResilientCalls.BASE_DELAY_MILLIS = 1;
+    }
+
+    @AfterEach
+    void tearDown() {
+        ResilientCalls.BASE_DELAY_MILLIS = baseDelay;
+    }
+
+    @Test
+    void test_retry_transient_failures() throws Exception {
+        CircuitBreaker breaker = new CircuitBreaker("http://bitbucket.example.com");
+        AtomicInteger calls = new AtomicInteger();
+
+        String result = ResilientCalls.call(breaker, "GET", () -> {
+            if (calls.incrementAndGet() < 3) {
+                throw new IOException("connection reset");
+            }
+            return "[]";
+        });
+
+        assertThat(result).isEqualTo("[]");
+        assertThat(calls).hasValue(3);
+        assertThat(breaker.getRetries()).isEqualTo(2);
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.CLOSED);
+        assertThat(breaker.getConsecutiveFailures()).isZero();
+    }
+
+    @Test
+    void test_client_errors_are_not_retried() throws Exception {
+        CircuitBreaker breaker = new CircuitBreaker("http://bitbucket.example.com");
+        BitbucketRequestException notFound = mock(BitbucketRequestException.class);
+        when(notFound.getHttpCode()).thenReturn(404);
+        AtomicInteger calls = new AtomicInteger();
+
+        assertThatThrownBy(() -> ResilientCalls.call(breaker, "GET", () -> {
+            calls.incrementAndGet();
+            throw notFound;
+        })).isSameAs(notFound);
+
+        assertThat(calls).hasValue(1);
+        assertThat(breaker.getConsecutiveFailures()).isZero();
+    }
+
+    @Test
+    void test_post_is_not_retried_after_connection_failures() throws Exception {
+        CircuitBreaker breaker = new CircuitBreaker("http://bitbucket.example.com");
+        AtomicInteger calls = new AtomicInteger();
+
+        // the hook could have been created anyway
+        assertThatThrownBy(() -> ResilientCalls.post(breaker, "POST", () -> {
+            calls.incrementAndGet();
+            throw new IOException("connection reset");
+        })).hasMessage("connection reset");
+
+        assertThat(calls).hasValue(1);
+        assertThat(breaker.getRetries()).isZero();
+        assertThat(breaker.getConsecutiveFailures()).isEqualTo(1);
+    }
+
+    @Test
+    void test_post_is_retried_when_refused() throws Exception {
+        CircuitBreaker breaker = new CircuitBreaker("http://bitbucket.example.com");
+        BitbucketRequestException throttled = mock(BitbucketRequestException.class);
+        when(throttled.getHttpCode()).thenReturn(429);
+        BitbucketRequestException badGateway = mock(BitbucketRequestException.class);
+        when(badGateway.getHttpCode()).thenReturn(502);
+        AtomicInteger calls = new AtomicInteger();
+
+        String result = ResilientCalls.post(breaker, "POST", () -> {
+            if (calls.incrementAndGet() == 1) {
+                throw throttled;
+            }
+            return "created";
+        });
+        assertThat(result).isEqualTo("created");
+        assertThat(calls).hasValue(2);
+
+        calls.set(0);
+        assertThatThrownBy(() -> ResilientCalls.post(breaker, "POST", () -> {
+            calls.incrementAndGet();
+            throw badGateway;
+        })).isSameAs(badGateway);
+        assertThat(calls).hasValue(1);
+    }
+
+    @Test
+    void test_circuit_opens_after_consecutive_failures() throws Exception {
+        int threshold = CircuitBreaker.FAILURE_THRESHOLD;
+        int maxRetries = ResilientCalls.MAX_RETRIES;
+        CircuitBreaker.FAILURE_THRESHOLD = 2;
+        ResilientCalls.MAX_RETRIES = 0;
+        try {
+            CircuitBreaker breaker = new CircuitBreaker("http://bitbucket.example.com");
+            AtomicInteger calls = new AtomicInteger();
+            ResilientCalls.Call<String> failing = () -> {
+                calls.incrementAndGet();
+                throw new IOException("connection refused");
+            };
+
+            assertThatThrownBy(() -> ResilientCalls.call(breaker, "GET", failing)).hasMessage("connection refused");
+            assertThatThrownBy(() -> ResilientCalls.call(breaker, "GET", failing)).hasMessage("connection refused");
+            assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.OPEN);
+
+            // the server is not called while the circuit is open
+            assertThatThrownBy(() -> ResilientCalls.call(breaker, "GET", failing)).hasMessageContaining("is unavailable");
+            assertThat(calls).hasValue(2);
+            assertThat(breaker.getOpened()).isEqualTo(1);
+            assertThat(breaker.getShortCircuited()).isEqualTo(1);
+        } finally {
+            CircuitBreaker.FAILURE_THRESHOLD = threshold;
+            ResilientCalls.MAX_RETRIES = maxRetries;
+        }
+    }
+}
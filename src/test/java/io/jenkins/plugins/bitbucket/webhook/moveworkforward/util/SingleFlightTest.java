@@ -0,0 +1,121 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2026, Nikolas Falco
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package io.jenkins.plugins.bitbucket.webhook.moveworkforward.util;
+
+import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SingleFlightTest {
+
+    @Test
+    void test_concurrent_callers_share_the_action_in_flight() throws Exception {
+        SingleFlight<String> flights = new SingleFlight<>();
+        AtomicInteger runs = new AtomicInteger();
+        CountDownLatch running = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        SingleFlight.Action action = () -> {
+            runs.incrementAndGet();
+            running.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        };
+
+        CompletableFuture<Boolean> leader = CompletableFuture.supplyAsync(() -> run(flights, action));
+        assertThat(running.await(10, TimeUnit.SECONDS)).isTrue();
+        CompletableFuture<Boolean> follower = CompletableFuture.supplyAsync(() -> run(flights, action));
+        // the follower waits for the leader
+        Thread.sleep(100);
+        assertThat(follower).isNotDone();
+
+        release.countDown();
+        assertThat(leader.get(10, TimeUnit.SECONDS)).isTrue();
+        assertThat(follower.get(10, TimeUnit.SECONDS)).isFalse();
+        assertThat(runs).hasValue(1);
+        assertThat(flights.getInFlight()).isZero();
+    }
+
+    @Test
+    void test_caller_with_another_tag_runs_after_the_action_in_flight() throws Exception {
+        SingleFlight<String> flights = new SingleFlight<>();
+        AtomicInteger runs = new AtomicInteger();
+        CountDownLatch running = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        CompletableFuture<Boolean> leader = CompletableFuture.supplyAsync(() -> run(flights, "old", () -> {
+            runs.incrementAndGet();
+            running.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }));
+        assertThat(running.await(10, TimeUnit.SECONDS)).isTrue();
+        CompletableFuture<Boolean> follower = CompletableFuture.supplyAsync(() -> run(flights, "new", runs::incrementAndGet));
+        // the follower waits for the leader before applying its own configuration
+        Thread.sleep(100);
+        assertThat(follower).isNotDone();
+        assertThat(runs).hasValue(1);
+
+        release.countDown();
+        assertThat(leader.get(10, TimeUnit.SECONDS)).isTrue();
+        assertThat(follower.get(10, TimeUnit.SECONDS)).isTrue();
+        assertThat(runs).hasValue(2);
+        assertThat(flights.getInFlight()).isZero();
+    }
+
+    @Test
+    void test_failure_is_propagated_and_not_retained() throws Exception {
+        SingleFlight<String> flights = new SingleFlight<>();
+
+        assertThatThrownBy(() -> flights.run("repo", () -> {
+            throw new IOException("forbidden");
+        })).hasMessage("forbidden");
+
+        assertThat(flights.run("repo", () -> { })).isTrue();
+        assertThat(flights.getInFlight()).isZero();
+    }
+
+    private static boolean run(SingleFlight<String> flights, SingleFlight.Action action) {
+        return run(flights, null, action);
+    }
+
+    private static boolean run(SingleFlight<String> flights, String tag, SingleFlight.Action action) {
+        try {
+            return flights.run("repo", tag, action);
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -25,11 +25,18 @@ package io.jenkins.plugins.bitbucket.webhook.moveworkforward.v1;
 
 import com.cloudbees.jenkins.plugins.bitbucket.api.BitbucketAuthenticatedClient;
 import com.cloudbees.jenkins.plugins.bitbucket.api.BitbucketWebHook;
+import com.cloudbees.jenkins.plugins.bitbucket.api.endpoint.BitbucketEndpoint;
+import io.jenkins.plugins.bitbucket.webhook.JsonParser;
+import io.jenkins.plugins.bitbucket.webhook.moveworkforward.util.DuplicateHookSweeper;
+import io.jenkins.plugins.bitbucket.webhook.moveworkforward.util.HookFingerprint;
+import io.jenkins.plugins.bitbucket.webhook.moveworkforward.util.HookKey;
+import io.jenkins.plugins.bitbucket.webhook.moveworkforward.util.HookRegistry;
 import io.jenkins.plugins.bitbucket.webhook.moveworkforward.v1.trait.PostWebhooksConfigurationTrait;
 import java.io.IOException;
 import java.nio.charset.StandardCharsets;
 import java.util.Collection;
 import org.apache.commons.io.IOUtils;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.ArgumentCaptor;
@@ -39,6 +46,8 @@ import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -51,6 +60,11 @@ class PostWebhooksManagerTest {
         sut = new PostWebhooksManager();
     }
 
+    @AfterEach
+    void tearDown() {
+        PostWebhooksManager.READ_CACHE.invalidateAll();
+    }
+
     @Test
     void test_register_new_webhook() throws Exception {
         BitbucketAuthenticatedClient client = mock(BitbucketAuthenticatedClient.class);
@@ -108,6 +122,173 @@ class PostWebhooksManagerTest {
         verify(client).get("/rest/webhook/1.0/projects/owner/repos/test_repos/configurations");
     }
 
+    @Test
+    void test_read_is_cached_until_changed() throws Exception {
+        BitbucketEndpoint endpoint = mock(BitbucketEndpoint.class);
+        when(endpoint.getServerURL()).thenReturn("http://bitbucket.example.com");
+        BitbucketAuthenticatedClient client = mock(BitbucketAuthenticatedClient.class);
+        when(client.getRepositoryOwner()).thenReturn("owner");
+        when(client.getRepositoryName()).thenReturn("test_repos");
+        when(client.get(anyString())).thenReturn(loadResource("read_webhooks.json"));
+
+        PostWebhooksConfiguration configuration = new PostWebhooksConfiguration(false, null);
+        configuration.setEndpointJenkinsRootURL("http://local-jenkins.com/");
+        sut.apply(configuration);
+        sut.setCallbackURL("http://local-jenkins.com/webhook", endpoint);
+
+        assertThat(sut.read(client)).hasSize(1);
+        assertThat(sut.read(client)).hasSize(1);
+        verify(client, times(1)).get(anyString());
+
+        // hooks changed by Jenkins are read again from the server
+        sut.remove("21", client);
+        assertThat(sut.read(client)).hasSize(1);
+        verify(client, times(2)).get(anyString());
+    }
+
+    @Test
+    void test_register_removes_duplicate_webhooks() throws Exception {
+        BitbucketEndpoint endpoint = mock(BitbucketEndpoint.class);
+        when(endpoint.getServerURL()).thenReturn("http://bitbucket.example.com");
+        BitbucketAuthenticatedClient client = mock(BitbucketAuthenticatedClient.class);
+        when(client.getRepositoryOwner()).thenReturn("owner");
+        when(client.getRepositoryName()).thenReturn("duplicated_repo");
+        when(client.get(anyString())).thenReturn(loadResource("duplicated_webhooks.json"));
+
+        PostWebhooksConfiguration configuration = new PostWebhooksConfiguration(false, null);
+        configuration.setEndpointJenkinsRootURL("http://local-jenkins.com/");
+        sut.apply(configuration);
+        sut.setCallbackURL("http://local-jenkins.com/bitbucket-scmsource-hook/notify", endpoint);
+
+        HookKey key = HookKey.of("http://bitbucket.example.com", "owner", "duplicated_repo");
+        try {
+            // dry-run by default
+            sut.register(client);
+            verify(client, never()).delete(anyString());
+            assertThat(DuplicateHookSweeper.getReport()).hasEntrySatisfying(key, duplicates -> {
+                assertThat(duplicates.kept()).isEqualTo("21");
+                // the hook of another Jenkins endpoint is not a duplicate
+                assertThat(duplicates.duplicates()).containsExactly("22", "24");
+                assertThat(duplicates.removed()).isFalse();
+            });
+
+            DuplicateHookSweeper.REMOVE = true;
+            sut.register(client);
+            verify(client).delete("/rest/webhook/1.0/projects/owner/repos/duplicated_repo/configurations/22");
+            verify(client).delete("/rest/webhook/1.0/projects/owner/repos/duplicated_repo/configurations/24");
+            verify(client, never()).delete("/rest/webhook/1.0/projects/owner/repos/duplicated_repo/configurations/23");
+            assertThat(DuplicateHookSweeper.getReport().get(key).removed()).isTrue();
+        } finally {
+            DuplicateHookSweeper.REMOVE = false;
+        }
+    }
+
+    @Test
+    void test_register_is_skipped_when_verified_recently() throws Exception {
+        BitbucketEndpoint endpoint = mock(BitbucketEndpoint.class);
+        when(endpoint.getServerURL()).thenReturn("http://bitbucket.example.com");
+        BitbucketAuthenticatedClient client = mock(BitbucketAuthenticatedClient.class);
+        when(client.getRepositoryOwner()).thenReturn("owner");
+        when(client.getRepositoryName()).thenReturn("verified_repo");
+        when(client.get(anyString())).thenReturn("[]");
+
+        PostWebhooksConfiguration configuration = new PostWebhooksConfiguration(false, null);
+        configuration.setEndpointJenkinsRootURL("http://local-jenkins.com/");
+        sut.apply(configuration);
+        sut.setCallbackURL("http://local-jenkins.com/bitbucket-scmsource-hook/notify", endpoint);
+
+        HookKey key = HookKey.of("http://bitbucket.example.com", "owner", "verified_repo");
+        try {
+            sut.register(client);
+            assertThat(HookRegistry.getEntry(key)).isNotNull();
+
+            sut.register(client);
+            verify(client, times(1)).post(anyString(), any(PostWebhookPayload.class));
+
+            // a different expected configuration is registered again
+            sut.apply(new PostWebhooksConfigurationTrait("jhon@acme.com", null, false));
+            sut.register(client);
+            verify(client, times(2)).post(anyString(), any(PostWebhookPayload.class));
+        } finally {
+            HookRegistry.forget(key);
+        }
+    }
+
+    @Test
+    void test_fingerprinted_webhook_is_not_compared() throws Exception {
+        BitbucketEndpoint endpoint = mock(BitbucketEndpoint.class);
+        when(endpoint.getServerURL()).thenReturn("http://bitbucket.example.com");
+        BitbucketAuthenticatedClient client = mock(BitbucketAuthenticatedClient.class);
+        when(client.getRepositoryOwner()).thenReturn("owner");
+        when(client.getRepositoryName()).thenReturn("fingerprinted_repo");
+        when(client.get(anyString())).thenReturn("[]");
+
+        PostWebhooksConfiguration configuration = new PostWebhooksConfiguration(false, null);
+        configuration.setEndpointJenkinsRootURL("http://local-jenkins.com/");
+        sut.apply(configuration);
+        sut.setCallbackURL("http://local-jenkins.com/bitbucket-scmsource-hook/notify", endpoint);
+
+        long freshSeconds = HookRegistry.FRESH_SECONDS;
+        HookRegistry.FRESH_SECONDS = 0;
+        try {
+            sut.register(client);
+            ArgumentCaptor<PostWebhookPayload> payloadCaptor = ArgumentCaptor.forClass(PostWebhookPayload.class);
+            verify(client).post(anyString(), payloadCaptor.capture());
+            PostWebhookPayload created = payloadCaptor.getValue();
+            assertThat(HookFingerprint.parse(created.getDescription())).isNotNull();
+
+            // the hook created with the same configuration is left untouched
+            created.setSkipCI(true);
+            when(client.get(anyString())).thenReturn(JsonParser.toString(new PostWebhookPayload[] { created }));
+            sut.register(client);
+            verify(client, never()).put(anyString(), any(PostWebhookPayload.class));
+
+            sut.apply(new PostWebhooksConfigurationTrait("jhon@acme.com", null, false));
+            sut.register(client);
+            verify(client).put(anyString(), payloadCaptor.capture());
+            assertThat(HookFingerprint.parse(payloadCaptor.getValue().getDescription()))
+                .isNotNull()
+                .isNotEqualTo(HookFingerprint.parse(created.getDescription()));
+        } finally {
+            HookRegistry.FRESH_SECONDS = freshSeconds;
+            HookRegistry.forget(HookKey.of("http://bitbucket.example.com", "owner", "fingerprinted_repo"));
+        }
+    }
+
+    @Test
+    void test_disabled_fingerprinted_webhook_is_reactivated() throws Exception {
+        BitbucketEndpoint endpoint = mock(BitbucketEndpoint.class);
+        when(endpoint.getServerURL()).thenReturn("http://bitbucket.example.com");
+        BitbucketAuthenticatedClient client = mock(BitbucketAuthenticatedClient.class);
+        when(client.getRepositoryOwner()).thenReturn("owner");
+        when(client.getRepositoryName()).thenReturn("disabled_repo");
+        when(client.get(anyString())).thenReturn("[]");
+
+        PostWebhooksConfiguration configuration = new PostWebhooksConfiguration(false, null);
+        configuration.setEndpointJenkinsRootURL("http://local-jenkins.com/");
+        sut.apply(configuration);
+        sut.setCallbackURL("http://local-jenkins.com/bitbucket-scmsource-hook/notify", endpoint);
+
+        long freshSeconds = HookRegistry.FRESH_SECONDS;
+        HookRegistry.FRESH_SECONDS = 0;
+        try {
+            sut.register(client);
+            ArgumentCaptor<PostWebhookPayload> payloadCaptor = ArgumentCaptor.forClass(PostWebhookPayload.class);
+            verify(client).post(anyString(), payloadCaptor.capture());
+            PostWebhookPayload created = payloadCaptor.getValue();
+
+            // disabled in Bitbucket, the fingerprint is unchanged
+            created.setActive(false);
+            when(client.get(anyString())).thenReturn(JsonParser.toString(new PostWebhookPayload[] { created }));
+            sut.register(client);
+            verify(client).put(anyString(), payloadCaptor.capture());
+            assertThat(payloadCaptor.getValue().isActive()).isTrue();
+        } finally {
+            HookRegistry.FRESH_SECONDS = freshSeconds;
+            HookRegistry.forget(HookKey.of("http://bitbucket.example.com", "owner", "disabled_repo"));
+        }
+    }
+
     private String loadResource(String resource) throws IOException {
         return IOUtils.toString(this.getClass().getResourceAsStream(resource), StandardCharsets.UTF_8);
     }
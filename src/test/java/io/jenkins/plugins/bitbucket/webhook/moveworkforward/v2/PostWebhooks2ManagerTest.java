@@ -25,11 +25,16 @@ package io.jenkins.plugins.bitbucket.webhook.moveworkforward.v2;
 
 import com.cloudbees.jenkins.plugins.bitbucket.api.BitbucketAuthenticatedClient;
 import com.cloudbees.jenkins.plugins.bitbucket.api.BitbucketWebHook;
+import com.cloudbees.jenkins.plugins.bitbucket.api.endpoint.BitbucketEndpoint;
+import io.jenkins.plugins.bitbucket.webhook.moveworkforward.util.DuplicateHookSweeper;
+import io.jenkins.plugins.bitbucket.webhook.moveworkforward.util.HookKey;
+import io.jenkins.plugins.bitbucket.webhook.moveworkforward.util.HookRegistry;
 import io.jenkins.plugins.bitbucket.webhook.moveworkforward.v2.trait.PostWebhooks2ConfigurationTrait;
 import java.io.IOException;
 import java.nio.charset.StandardCharsets;
 import java.util.Collection;
 import org.apache.commons.io.IOUtils;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.ArgumentCaptor;
@@ -39,6 +44,8 @@ import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -51,6 +58,12 @@ class PostWebhooks2ManagerTest {
         sut = new PostWebhooks2Manager();
     }
 
+    @AfterEach
+    void tearDown() {
+        ProjectInventory.invalidateAll();
+        PostWebhooks2Manager.READ_CACHE.invalidateAll();
+    }
+
     @Test
     void test_register_new_webhook() throws Exception {
         BitbucketAuthenticatedClient client = mock(BitbucketAuthenticatedClient.class);
@@ -122,6 +135,131 @@ class PostWebhooks2ManagerTest {
         verify(client).get("/rest/webhook/2.0/configurations?projectKey=owner&repositorySlug=test_repos");
     }
 
+    @Test
+    void test_register_project_webhook() throws Exception {
+        BitbucketEndpoint endpoint = mock(BitbucketEndpoint.class);
+        when(endpoint.getServerURL()).thenReturn("http://bitbucket.example.com");
+        BitbucketAuthenticatedClient client = mock(BitbucketAuthenticatedClient.class);
+        when(client.getRepositoryOwner()).thenReturn("EVENT_1");
+        when(client.getRepositoryName()).thenReturn("eve_1");
+        when(client.get(anyString())).thenReturn(loadResource("replaced_webhooks.json"));
+
+        PostWebhooks2Configuration configuration = new PostWebhooks2Configuration(false, null);
+        configuration.setEndpointJenkinsRootURL("http://example.com");
+        configuration.setHookLevel(HookLevel.PROJECT);
+
+        // settings of a single repository do not apply to the shared project hook
+        sut.apply(new PostWebhooks2ConfigurationTrait("feature/*", "jdoe", "anonym", true, true, true));
+        sut.apply(configuration);
+        sut.setCallbackURL("http://example.com/webhook", endpoint);
+
+        HookKey key = HookKey.of("http://bitbucket.example.com", "EVENT_1", "eve_1");
+        try {
+            sut.register(client);
+
+            verify(client).get("/rest/webhook/2.0/configurations?projectKey=EVENT_1");
+            ArgumentCaptor<PostWebhook2Payload> payloadCaptor = ArgumentCaptor.forClass(PostWebhook2Payload.class);
+            verify(client).post(eq("/rest/webhook/2.0/configurations"), payloadCaptor.capture());
+            assertThat(payloadCaptor.getValue()).satisfies(payload -> {
+                assertThat(payload.getLevel()).isEqualTo("PROJECT");
+                assertThat(payload.getProjectKey()).isEqualTo("EVENT_1");
+                assertThat(payload.getRepositorySlug()).isNull();
+                assertThat(payload.getIgnoredSources()).isNullOrEmpty();
+                assertThat(payload.getIgnoredUsers()).isNullOrEmpty();
+                assertThat(payload.getIgnoredGroups()).isNullOrEmpty();
+                assertThat(payload.isIgnoreCerts()).isFalse();
+                assertThat(payload.isSkipCI()).isFalse();
+            });
+            // the replaced repository hook is only reported by default
+            verify(client, never()).delete(anyString());
+            assertThat(DuplicateHookSweeper.getReport().get(key).duplicates()).containsExactly("5");
+
+            DuplicateHookSweeper.REMOVE = true;
+            sut.register(client);
+            // the repository hook is replaced by the project one
+            verify(client).delete("/rest/webhook/2.0/configurations/5");
+            // the hook of another Jenkins endpoint on the same root survives
+            verify(client, never()).delete("/rest/webhook/2.0/configurations/6");
+            // the shared project hook is never returned as hook of the repository
+            assertThat(sut.read(client))
+                .extracting(BitbucketWebHook::getUuid)
+                .containsExactlyInAnyOrder("5", "6");
+        } finally {
+            DuplicateHookSweeper.REMOVE = false;
+            HookRegistry.forget(key);
+        }
+    }
+
+    @Test
+    void test_register_project_webhook_from_project_inventory() throws Exception {
+        BitbucketEndpoint endpoint = mock(BitbucketEndpoint.class);
+        when(endpoint.getServerURL()).thenReturn("http://bitbucket.example.com");
+        BitbucketAuthenticatedClient client = mock(BitbucketAuthenticatedClient.class);
+        when(client.getRepositoryOwner()).thenReturn("EVENT_1");
+        when(client.getRepositoryName()).thenReturn("eve_1");
+        // the project listing includes the repository level configurations
+        when(client.get(anyString())).thenReturn(loadResource("replaced_webhooks.json"));
+
+        PostWebhooks2Configuration configuration = new PostWebhooks2Configuration(false, null);
+        configuration.setEndpointJenkinsRootURL("http://example.com");
+        configuration.setHookLevel(HookLevel.PROJECT);
+        sut.apply(configuration);
+        sut.setCallbackURL("http://example.com/webhook", endpoint);
+
+        HookKey key = HookKey.of("http://bitbucket.example.com", "EVENT_1", "eve_1");
+        ProjectInventory.TTL_SECONDS = 60;
+        DuplicateHookSweeper.REMOVE = true;
+        try {
+            sut.register(client);
+
+            // project and repository hooks are read with a single request
+            verify(client, times(1)).get("/rest/webhook/2.0/configurations?projectKey=EVENT_1");
+            verify(client).post(eq("/rest/webhook/2.0/configurations"), any(PostWebhook2Payload.class));
+            verify(client).delete("/rest/webhook/2.0/configurations/5");
+            verify(client, never()).get("/rest/webhook/2.0/configurations?projectKey=EVENT_1&repositorySlug=eve_1");
+
+            // the snapshot is dropped once the project hook is registered
+            sut.read(client);
+            verify(client, times(2)).get("/rest/webhook/2.0/configurations?projectKey=EVENT_1");
+        } finally {
+            ProjectInventory.TTL_SECONDS = 0;
+            DuplicateHookSweeper.REMOVE = false;
+            HookRegistry.forget(key);
+        }
+    }
+
+    @Test
+    void test_read_from_project_inventory() throws Exception {
+        BitbucketEndpoint endpoint = mock(BitbucketEndpoint.class);
+        when(endpoint.getServerURL()).thenReturn("http://bitbucket.example.com");
+        BitbucketAuthenticatedClient client = mock(BitbucketAuthenticatedClient.class);
+        when(client.getRepositoryOwner()).thenReturn("EVENT_1");
+        when(client.get(anyString())).thenReturn(loadResource("read_webhooks.json"));
+
+        PostWebhooks2Configuration configuration = new PostWebhooks2Configuration(false, null);
+        configuration.setEndpointJenkinsRootURL("http://example.com");
+        sut.apply(configuration);
+        sut.setCallbackURL("http://example.com/webhook", endpoint);
+
+        ProjectInventory.TTL_SECONDS = 60;
+        try {
+            when(client.getRepositoryName()).thenReturn("other_repo");
+            assertThat(sut.read(client)).isEmpty();
+            when(client.getRepositoryName()).thenReturn("eve_1");
+            assertThat(sut.read(client)).hasSize(1);
+            verify(client, times(1)).get(anyString());
+            verify(client).get("/rest/webhook/2.0/configurations?projectKey=EVENT_1");
+
+            // hooks changed by Jenkins are read again from the server
+            sut.register(client);
+            verify(client).put(eq("/rest/webhook/2.0/configurations/5"), any(PostWebhook2Payload.class));
+            assertThat(sut.read(client)).hasSize(1);
+            verify(client).get("/rest/webhook/2.0/configurations?projectKey=EVENT_1&repositorySlug=eve_1");
+        } finally {
+            ProjectInventory.TTL_SECONDS = 0;
+        }
+    }
+
     private String loadResource(String resource) throws IOException {
         return IOUtils.toString(this.getClass().getResourceAsStream(resource), StandardCharsets.UTF_8);
     }